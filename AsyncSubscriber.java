@@ -0,0 +1,482 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * A subscription to one {@link BoardEvent} whose listener runs on an executor instead
+ * of the game thread.
+ * <p>
+ * The game thread only stores the value and, when no delivery is scheduled yet, hands
+ * one delivery task to the executor; the task passes every stored value to the listener.
+ * With {@link DeliveryMode#CONFLATING} a single slot holds the latest value, and a value
+ * published before the listener took the previous one replaces it and counts as
+ * merged. With {@link DeliveryMode#LOSSLESS} values wait in a bounded ring; when it is
+ * full the game thread waits for the listener, which counts as a stall, so the executor
+ * must not run on the game thread.
+ * <p>
+ * Every value a Board publishes is immutable, so the listener may read it on the
+ * executor while the game goes on. The ring assumes a single producer, the thread that
+ * runs the Board. If the executor rejects a delivery task, for example because it was
+ * shut down, the subscriber closes itself: it unsubscribes and drops the values it
+ * holds, so the game thread never waits for deliveries that cannot happen. Instances
+ * are created by {@link BoardEventBus}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class AsyncSubscriber implements AutoCloseable {
+
+    /**
+     * Number of values a lossless subscriber holds before the game thread waits.
+     */
+    public static final int CAPACITY = 1024;
+
+    /**
+     * The conflating int slot when it holds no value.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * Bit marking a conflating int slot that holds a value in its low 32 bits.
+     */
+    private static final long FULL = 1L << 32;
+
+    /**
+     * Mask of the value in a conflating int slot.
+     */
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Nanoseconds the game thread parks between checks of a full ring.
+     */
+    private static final long PARK_NANOS = 50_000;
+
+    /**
+     * The bus this subscriber is registered on.
+     */
+    private final BoardEventBus myBus;
+
+    /**
+     * The event this subscriber receives.
+     */
+    private final BoardEvent myEvent;
+
+    /**
+     * How values reach the listener.
+     */
+    private final DeliveryMode myMode;
+
+    /**
+     * Runs the delivery tasks.
+     */
+    private final Executor myExecutor;
+
+    /**
+     * The listener of an int event, null otherwise.
+     */
+    private final IntConsumer myIntListener;
+
+    /**
+     * The listener of an event that carries a value, null for int events.
+     */
+    private final Consumer<Object> myListener;
+
+    /**
+     * The callback registered on the bus, which stores values for the listener.
+     */
+    private final Object myHandle;
+
+    /**
+     * Latest int value of a conflating subscriber, FULL | value, or EMPTY.
+     */
+    private final AtomicLong myLatestInt = new AtomicLong(EMPTY);
+
+    /**
+     * Latest value of a conflating subscriber, or null.
+     */
+    private final AtomicReference<Object> myLatest = new AtomicReference<>();
+
+    /**
+     * Ring of a lossless int subscriber, null otherwise.
+     */
+    private final int[] myInts;
+
+    /**
+     * Ring of a lossless subscriber to values, null otherwise.
+     */
+    private final Object[] myValues;
+
+    /**
+     * Mask wrapping a sequence number into a ring index.
+     */
+    private final int myMask;
+
+    /**
+     * Sequence number of the next value the listener receives, written by the delivery
+     * task only.
+     */
+    private volatile long myHead;
+
+    /**
+     * Sequence number of the next value stored, written by the game thread only.
+     */
+    private volatile long myTail;
+
+    /**
+     * Whether a delivery task is scheduled or running.
+     */
+    private final AtomicBoolean myScheduled = new AtomicBoolean();
+
+    /**
+     * Whether this subscriber was closed.
+     */
+    private volatile boolean myClosed;
+
+    /**
+     * Delivers the stored values.
+     */
+    private final Runnable myDrain = this::drain;
+
+    /**
+     * Number of values passed to the listener.
+     */
+    private final LongAdder myDelivered = new LongAdder();
+
+    /**
+     * Number of values replaced by a later value before delivery.
+     */
+    private final LongAdder myMerged = new LongAdder();
+
+    /**
+     * Number of times the game thread waited for a full ring.
+     */
+    private final LongAdder myStalls = new LongAdder();
+
+    /**
+     * Number of values discarded because the subscriber was closed.
+     */
+    private final LongAdder myDropped = new LongAdder();
+
+    /**
+     * Constructs a subscriber.
+     *
+     * @param theBus the bus the subscriber is registered on.
+     * @param theEvent the event.
+     * @param theIntListener the listener of an int event, or null.
+     * @param theListener the listener of an event that carries a value, or null.
+     * @param theMode how values reach the listener.
+     * @param theExecutor runs the delivery tasks.
+     */
+    @SuppressWarnings("unchecked")
+    AsyncSubscriber(final BoardEventBus theBus, final BoardEvent theEvent,
+                    final IntConsumer theIntListener, final Consumer<?> theListener,
+                    final DeliveryMode theMode, final Executor theExecutor) {
+        super();
+        myBus = theBus;
+        myEvent = theEvent;
+        myIntListener = theIntListener;
+        myListener = (Consumer<Object>) theListener;
+        myMode = theMode;
+        myExecutor = theExecutor;
+        final boolean lossless = theMode == DeliveryMode.LOSSLESS;
+        if (theEvent.isInt()) {
+            myHandle = (IntConsumer) this::offer;
+            myInts = lossless ? new int[CAPACITY] : null;
+            myValues = null;
+        } else {
+            myHandle = (Consumer<Object>) this::offer;
+            myInts = null;
+            myValues = lossless ? new Object[CAPACITY] : null;
+        }
+        myMask = CAPACITY - 1;
+    }
+
+    /**
+     * Returns the callback to register on the bus.
+     *
+     * @return an IntConsumer for int events, a Consumer otherwise.
+     */
+    Object getHandle() {
+        return myHandle;
+    }
+
+    /**
+     * Returns the event this subscriber receives.
+     *
+     * @return the event.
+     */
+    public BoardEvent getEvent() {
+        return myEvent;
+    }
+
+    /**
+     * Returns how values reach the listener.
+     *
+     * @return the delivery mode.
+     */
+    public DeliveryMode getMode() {
+        return myMode;
+    }
+
+    /**
+     * Returns the number of values passed to the listener.
+     *
+     * @return the number of delivered values.
+     */
+    public long getDelivered() {
+        return myDelivered.sum();
+    }
+
+    /**
+     * Returns the number of values a conflating subscriber replaced before delivery.
+     *
+     * @return the number of merged values, always 0 for lossless subscribers.
+     */
+    public long getMerged() {
+        return myMerged.sum();
+    }
+
+    /**
+     * Returns the number of times the game thread waited for a lossless subscriber.
+     *
+     * @return the number of stalls, always 0 for conflating subscribers.
+     */
+    public long getStalls() {
+        return myStalls.sum();
+    }
+
+    /**
+     * Returns the number of values discarded because the subscriber was closed, or its
+     * executor rejected a delivery, before delivering them.
+     *
+     * @return the number of dropped values.
+     */
+    public long getDropped() {
+        return myDropped.sum();
+    }
+
+    /**
+     * Returns whether the subscriber was closed, by {@link #close()} or because its
+     * executor rejected a delivery.
+     *
+     * @return true once no more values are delivered.
+     */
+    public boolean isClosed() {
+        return myClosed;
+    }
+
+    /**
+     * Unsubscribes from the bus. Values not delivered yet are dropped.
+     */
+    @Override
+    public void close() {
+        myClosed = true;
+        myBus.unsubscribe(myEvent, myHandle);
+        schedule();
+    }
+
+    /**
+     * Stores an int value for the listener. Called on the game thread.
+     *
+     * @param theValue the value.
+     */
+    private void offer(final int theValue) {
+        if (myInts == null) {
+            if (myLatestInt.getAndSet(FULL | theValue & VALUE_MASK) != EMPTY) {
+                myMerged.increment();
+            }
+            schedule();
+        } else if (awaitSpace()) {
+            final long tail = myTail;
+            myInts[(int) tail & myMask] = theValue;
+            myTail = tail + 1;
+            schedule();
+        }
+    }
+
+    /**
+     * Stores a value for the listener. Called on the game thread.
+     *
+     * @param theValue the value, not null.
+     */
+    private void offer(final Object theValue) {
+        if (myValues == null) {
+            if (myLatest.getAndSet(theValue) != null) {
+                myMerged.increment();
+            }
+            schedule();
+        } else if (awaitSpace()) {
+            final long tail = myTail;
+            myValues[(int) tail & myMask] = theValue;
+            myTail = tail + 1;
+            schedule();
+        }
+    }
+
+    /**
+     * Waits until the ring has room for one more value.
+     *
+     * @return true if there is room, false if the subscriber was closed and the value
+     *         is dropped.
+     */
+    private boolean awaitSpace() {
+        final long tail = myTail;
+        if (tail - myHead > myMask) {
+            myStalls.increment();
+            while (tail - myHead > myMask && !myClosed) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        final boolean result = !myClosed;
+        if (!result) {
+            myDropped.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Hands a delivery task to the executor unless one is already scheduled, and closes
+     * the subscriber if the executor rejects it.
+     */
+    private void schedule() {
+        if (!myScheduled.get() && myScheduled.compareAndSet(false, true)) {
+            try {
+                myExecutor.execute(myDrain);
+            } catch (final RejectedExecutionException e) {
+                reject();
+            }
+        }
+    }
+
+    /**
+     * Closes the subscriber after its executor rejected a delivery task and drops the
+     * stored values on the calling thread. No delivery task runs meanwhile, because
+     * myScheduled stays set until the values are dropped.
+     */
+    private void reject() {
+        myClosed = true;
+        myBus.unsubscribe(myEvent, myHandle);
+        deliver();
+        myScheduled.set(false);
+    }
+
+    /**
+     * Delivers stored values until none are left. Runs on the executor.
+     */
+    private void drain() {
+        boolean again;
+        do {
+            try {
+                deliver();
+            } finally {
+                myScheduled.set(false);
+            }
+            again = hasPending() && myScheduled.compareAndSet(false, true);
+        } while (again);
+    }
+
+    /**
+     * Returns whether values are stored and not delivered.
+     *
+     * @return true if the listener has values waiting.
+     */
+    private boolean hasPending() {
+        final boolean result;
+        if (myMode == DeliveryMode.CONFLATING) {
+            result = myLatestInt.get() != EMPTY || myLatest.get() != null;
+        } else {
+            result = myHead != myTail;
+        }
+        return result;
+    }
+
+    /**
+     * Passes the stored values to the listener, or drops them once closed.
+     */
+    private void deliver() {
+        if (myMode == DeliveryMode.CONFLATING) {
+            deliverLatest();
+        } else {
+            long head = myHead;
+            while (head != myTail) {
+                final int index = (int) head & myMask;
+                if (myInts == null) {
+                    final Object value = myValues[index];
+                    myValues[index] = null;
+                    myHead = ++head;
+                    deliver(value);
+                } else {
+                    final int value = myInts[index];
+                    myHead = ++head;
+                    deliver(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the latest value of a conflating subscriber to the listener.
+     */
+    private void deliverLatest() {
+        if (myIntListener == null) {
+            final Object value = myLatest.getAndSet(null);
+            if (value != null) {
+                deliver(value);
+            }
+        } else {
+            final long slot = myLatestInt.getAndSet(EMPTY);
+            if (slot != EMPTY) {
+                deliver((int) slot);
+            }
+        }
+    }
+
+    /**
+     * Passes an int value to the listener unless the subscriber was closed.
+     *
+     * @param theValue the value.
+     */
+    private void deliver(final int theValue) {
+        if (myClosed) {
+            myDropped.increment();
+        } else {
+            myIntListener.accept(theValue);
+            myDelivered.increment();
+        }
+    }
+
+    /**
+     * Passes a value to the listener unless the subscriber was closed.
+     *
+     * @param theValue the value.
+     */
+    private void deliver(final Object theValue) {
+        if (myClosed) {
+            myDropped.increment();
+        } else {
+            myListener.accept(theValue);
+            myDelivered.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscriber(" + myEvent + ", " + myMode + ", " + getDelivered()
+               + " delivered, " + getMerged() + " merged, " + getStalls() + " stalls, "
+               + getDropped() + " dropped)";
+    }
+}
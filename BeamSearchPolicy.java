@@ -0,0 +1,494 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import model.BitBoard;
+import model.IBitBoard;
+import model.IBoard;
+import model.IPieceQueue;
+import model.Input;
+import model.PieceState;
+import model.TetrisPiece;
+import model.search.MoveGenerator;
+
+/**
+ * A policy that looks ahead over the current piece and the preview pieces with a
+ * beam search.
+ * <p>
+ * Every level of the search places one more piece on each board of the beam, using
+ * the same reachable placements and line clears as a Board, and keeps the best boards
+ * for the next level. Boards are scored like {@link GreedyPolicy} scores them, plus
+ * the lines cleared on the way. The boards of a level are expanded in parallel on a
+ * ForkJoinPool; each worker thread keeps its own move generator and scratch boards,
+ * and the beam's boards are allocated once and reused for every move.
+ * <p>
+ * Different placement orders often leave the same board. Every candidate is looked up
+ * in a {@link TranspositionTable}, which the workers and other policies may share,
+ * before it is scored, keyed by the hash of the board it leaves, and the stored score
+ * of a hit is reused. When the levels are merged, a child whose board is already in
+ * the next level is dropped, so the beam holds distinct boards. The merge runs on one
+ * thread and takes children best first, ties going to the lower parent, so the chosen
+ * move does not depend on how the workers were scheduled.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class BeamSearchPolicy implements IPolicy {
+
+    /**
+     * Default number of boards kept at every level.
+     */
+    public static final int DEFAULT_WIDTH = 16;
+
+    /**
+     * Default number of pieces searched, the current piece included.
+     */
+    public static final int DEFAULT_DEPTH = 3;
+
+    /**
+     * Marks a board of the beam that does not descend from a placement yet.
+     */
+    private static final int NO_ROOT = -1;
+
+    /**
+     * Base 2 logarithm of the number of slots of a policy's own transposition table,
+     * 1 MiB.
+     */
+    private static final int TABLE_BITS = 16;
+
+    /**
+     * The pool the boards of a level are expanded on.
+     */
+    private final ForkJoinPool myPool;
+
+    /**
+     * Number of boards kept at every level.
+     */
+    private final int myBeamWidth;
+
+    /**
+     * Number of pieces searched, the current piece included.
+     */
+    private final int myDepth;
+
+    /**
+     * Buffers of the worker threads.
+     */
+    private final ThreadLocal<Workspace> myWorkspaces =
+            ThreadLocal.withInitial(() -> new Workspace(getTable()));
+
+    /**
+     * Buffers of the first level, which keep the paths to the current piece's placements.
+     */
+    private final Workspace myRootWorkspace;
+
+    /**
+     * Scores of the candidate boards, shared by the workers and kept between moves, or
+     * null.
+     */
+    private final TranspositionTable myTable;
+
+    /**
+     * Boards of the current level.
+     */
+    private BitBoard[] myBoards;
+
+    /**
+     * Boards of the next level.
+     */
+    private BitBoard[] myNextBoards;
+
+    /**
+     * Index of the current piece placement each board of the current level descends from.
+     */
+    private int[] myRoots;
+
+    /**
+     * Index of the current piece placement each board of the next level descends from.
+     */
+    private int[] myNextRoots;
+
+    /**
+     * Lines cleared on the way to each board of the current level.
+     */
+    private int[] myLines;
+
+    /**
+     * Lines cleared on the way to each board of the next level.
+     */
+    private int[] myNextLines;
+
+    /**
+     * Number of boards in the current level.
+     */
+    private int myBeamSize;
+
+    /**
+     * Best children of every board of the current level, best first, as packed states,
+     * myBeamWidth slots per board.
+     */
+    private final int[] myChildStates;
+
+    /**
+     * Index of each child among the placements of its parent.
+     */
+    private final int[] myChildPlacements;
+
+    /**
+     * Score of each child.
+     */
+    private final double[] myChildScores;
+
+    /**
+     * Lines cleared on the way to each child.
+     */
+    private final int[] myChildLines;
+
+    /**
+     * Number of children kept for every board of the current level.
+     */
+    private final int[] myChildCounts;
+
+    /**
+     * Next child of every board to consider when the levels are merged.
+     */
+    private final int[] myMergeHeads;
+
+    /**
+     * Packed spawn state of the piece placed on the current level, below the first level.
+     */
+    private int myPiece;
+
+    /**
+     * Constructs a beam search policy with the default width and depth and a
+     * transposition table of its own.
+     *
+     * @param thePool the pool to expand boards on.
+     */
+    public BeamSearchPolicy(final ForkJoinPool thePool) {
+        this(thePool, new TranspositionTable(TABLE_BITS));
+    }
+
+    /**
+     * Constructs a beam search policy with the default width and depth that looks its
+     * candidates up in a given transposition table.
+     *
+     * @param thePool the pool to expand boards on.
+     * @param theTable the table, which may be shared with other policies, or null for
+     *        none.
+     */
+    public BeamSearchPolicy(final ForkJoinPool thePool, final TranspositionTable theTable) {
+        this(thePool, DEFAULT_WIDTH, DEFAULT_DEPTH, theTable);
+    }
+
+    /**
+     * Constructs a beam search policy.
+     *
+     * @param thePool the pool to expand boards on.
+     * @param theBeamWidth the number of boards kept at every level.
+     * @param theDepth the number of pieces searched, the current piece included; the
+     *        search never looks further than the board's preview.
+     * @param theTable the transposition table, which may be shared with other policies,
+     *        or null for none.
+     * @throws IllegalArgumentException if the width or the depth is less than 1.
+     */
+    public BeamSearchPolicy(final ForkJoinPool thePool, final int theBeamWidth,
+                            final int theDepth, final TranspositionTable theTable) {
+        super();
+        if (theBeamWidth < 1 || theDepth < 1) {
+            throw new IllegalArgumentException("Beam width and depth must be positive: "
+                                               + theBeamWidth + ", " + theDepth);
+        }
+        myPool = thePool;
+        myTable = theTable;
+        myRootWorkspace = new Workspace(theTable);
+        myBeamWidth = theBeamWidth;
+        myDepth = theDepth;
+        myRoots = new int[theBeamWidth];
+        myNextRoots = new int[theBeamWidth];
+        myLines = new int[theBeamWidth];
+        myNextLines = new int[theBeamWidth];
+        myChildStates = new int[theBeamWidth * theBeamWidth];
+        myChildPlacements = new int[theBeamWidth * theBeamWidth];
+        myChildScores = new double[theBeamWidth * theBeamWidth];
+        myChildLines = new int[theBeamWidth * theBeamWidth];
+        myChildCounts = new int[theBeamWidth];
+        myMergeHeads = new int[theBeamWidth];
+    }
+
+    @Override
+    public void play(final IBoard theBoard) {
+        Moves.follow(theBoard, search(theBoard.getFrozenBlocks(), theBoard.getCurrentPiece(),
+                                      theBoard.getPreview()));
+    }
+
+    /**
+     * Searches the best placement of a piece without touching a Board, so that the
+     * search can run on another thread than the one that drives the Board when it is
+     * given copies of the position. A policy runs one search at a time.
+     *
+     * @param theFrozen the frozen blocks.
+     * @param thePiece the packed state of the piece to place.
+     * @param thePreview the pieces that follow it.
+     * @return the {@link Input} codes that move the piece into place, ending with
+     *         a drop; only a drop if no placement keeps the game going.
+     */
+    public int[] search(final IBitBoard theFrozen, final int thePiece,
+                        final IPieceQueue thePreview) {
+        final int width = theFrozen.getWidth();
+        final int height = theFrozen.getHeight();
+        if (myBoards == null || myBoards[0].getWidth() != width
+            || myBoards[0].getHeight() != height) {
+            myBoards = new BitBoard[myBeamWidth];
+            myNextBoards = new BitBoard[myBeamWidth];
+            for (int i = 0; i < myBeamWidth; i++) {
+                myBoards[i] = new BitBoard(width, height);
+                myNextBoards[i] = new BitBoard(width, height);
+            }
+        }
+        theFrozen.copyTo(myBoards[0]);
+        myRoots[0] = NO_ROOT;
+        myLines[0] = 0;
+        myBeamSize = 1;
+        expand(myRootWorkspace, 0, thePiece);
+        int best = NO_ROOT;
+        if (nextLevel()) {
+            final int depth = Math.min(myDepth, thePreview.size() + 1);
+            for (int level = 1; level < depth; level++) {
+                final TetrisPiece piece = thePreview.peek(level - 1);
+                myPiece = PieceState.of(piece, 0, piece.getSpawnX(width),
+                                        piece.getSpawnY(height));
+                myPool.invoke(new Expansion(0, myBeamSize));
+                if (!nextLevel()) {
+                    break;
+                }
+            }
+            best = myRoots[0];
+        }
+        final int[] result;
+        if (best == NO_ROOT) {
+            result = new int[] {Input.DROP};
+        } else {
+            result = myRootWorkspace.myMoves.getPath(best);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the table of the boards reached by this policy's searches.
+     *
+     * @return the transposition table, or null.
+     */
+    public TranspositionTable getTable() {
+        return myTable;
+    }
+
+    /**
+     * Scores every placement of a piece on one board of the current level and keeps
+     * the best myBeamWidth of them, best first. Placements that would end the game are
+     * skipped.
+     *
+     * @param theWorkspace the buffers of the calling thread.
+     * @param theParent the index of the board in the current level.
+     * @param theStart the packed state the piece starts from.
+     */
+    private void expand(final Workspace theWorkspace, final int theParent, final int theStart) {
+        final BitBoard board = myBoards[theParent];
+        final MoveGenerator moves = theWorkspace.moves(board);
+        final Evaluator evaluator = theWorkspace.myEvaluator;
+        final int count = moves.generate(board, theStart);
+        evaluator.reset(board);
+        final int base = theParent * myBeamWidth;
+        final double prior = Evaluator.LINES_WEIGHT * myLines[theParent];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            final int state = moves.getPlacement(i);
+            final TetrisPiece piece = PieceState.piece(state);
+            final int rotation = PieceState.rotation(state);
+            if (PieceState.y(state) + piece.getMaxY(rotation) < board.getHeight()) {
+                final double score = prior + evaluator.evaluate(piece, rotation,
+                                                                PieceState.x(state),
+                                                                PieceState.y(state));
+                if (kept < myBeamWidth || score > myChildScores[base + kept - 1]) {
+                    int slot = Math.min(kept, myBeamWidth - 1);
+                    while (slot > 0 && myChildScores[base + slot - 1] < score) {
+                        myChildStates[base + slot] = myChildStates[base + slot - 1];
+                        myChildPlacements[base + slot] = myChildPlacements[base + slot - 1];
+                        myChildScores[base + slot] = myChildScores[base + slot - 1];
+                        myChildLines[base + slot] = myChildLines[base + slot - 1];
+                        slot--;
+                    }
+                    myChildStates[base + slot] = state;
+                    myChildPlacements[base + slot] = i;
+                    myChildScores[base + slot] = score;
+                    myChildLines[base + slot] = myLines[theParent] + evaluator.getLastLines();
+                    kept = Math.min(kept + 1, myBeamWidth);
+                }
+            }
+        }
+        myChildCounts[theParent] = kept;
+    }
+
+    /**
+     * Merges the children of the current level, best first, into the boards of the
+     * next level and makes it the current level. Of children with equal scores the one
+     * of the lower parent comes first, and a child that leaves a board already in the
+     * next level is dropped.
+     *
+     * @return false, leaving the current level in place, if there are no children.
+     */
+    private boolean nextLevel() {
+        final boolean firstLevel = myRoots[0] == NO_ROOT;
+        Arrays.fill(myMergeHeads, 0, myBeamSize, 0);
+        int size = 0;
+        while (size < myBeamWidth) {
+            int parent = -1;
+            double best = Double.NEGATIVE_INFINITY;
+            for (int p = 0; p < myBeamSize; p++) {
+                final int head = myMergeHeads[p];
+                if (head < myChildCounts[p]
+                    && (parent < 0 || myChildScores[p * myBeamWidth + head] > best)) {
+                    parent = p;
+                    best = myChildScores[p * myBeamWidth + head];
+                }
+            }
+            if (parent < 0) {
+                break;
+            }
+            final int child = parent * myBeamWidth + myMergeHeads[parent]++;
+            final int state = myChildStates[child];
+            final TetrisPiece piece = PieceState.piece(state);
+            final int rotation = PieceState.rotation(state);
+            final int y = PieceState.y(state);
+            final BitBoard board = myNextBoards[size];
+            myBoards[parent].copyTo(board);
+            board.place(piece, rotation, PieceState.x(state), y);
+            board.clearFullRows(Math.max(y + piece.getMinY(rotation), 0),
+                                y + piece.getMaxY(rotation));
+            if (isNew(board, size)) {
+                myNextRoots[size] = firstLevel ? myChildPlacements[child] : myRoots[parent];
+                myNextLines[size] = myChildLines[child];
+                size++;
+            }
+        }
+        if (size > 0) {
+            final BitBoard[] boards = myBoards;
+            myBoards = myNextBoards;
+            myNextBoards = boards;
+            final int[] roots = myRoots;
+            myRoots = myNextRoots;
+            myNextRoots = roots;
+            final int[] lines = myLines;
+            myLines = myNextLines;
+            myNextLines = lines;
+            myBeamSize = size;
+        }
+        return size > 0;
+    }
+
+    /**
+     * Returns whether a board differs from the boards already merged into the next level.
+     *
+     * @param theBoard the board.
+     * @param theSize the number of boards already merged.
+     * @return false if one of them has the same Zobrist hash.
+     */
+    private boolean isNew(final BitBoard theBoard, final int theSize) {
+        final long hash = theBoard.getHash();
+        boolean result = true;
+        for (int i = 0; i < theSize && result; i++) {
+            result = myNextBoards[i].getHash() != hash;
+        }
+        return result;
+    }
+
+    /**
+     * Expands a range of the boards of the current level, splitting it in halves
+     * until a single board is left.
+     */
+    private final class Expansion extends RecursiveAction {
+
+        /**
+         * A generated serial version UID for object Serialization.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first board of the range.
+         */
+        private final int myFrom;
+
+        /**
+         * One more than the last board of the range.
+         */
+        private final int myTo;
+
+        /**
+         * Constructs an expansion of a range of boards.
+         *
+         * @param theFrom the first board of the range.
+         * @param theTo one more than the last board of the range.
+         */
+        private Expansion(final int theFrom, final int theTo) {
+            super();
+            myFrom = theFrom;
+            myTo = theTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (myTo - myFrom == 1) {
+                expand(myWorkspaces.get(), myFrom, myPiece);
+            } else {
+                final int middle = (myFrom + myTo) >>> 1;
+                invokeAll(new Expansion(myFrom, middle), new Expansion(middle, myTo));
+            }
+        }
+    }
+
+    /**
+     * Buffers one thread reuses for every board it expands.
+     */
+    private static final class Workspace {
+
+        /**
+         * Scorer of the candidate placements.
+         */
+        private final Evaluator myEvaluator;
+
+        /**
+         * Generator of the candidate placements.
+         */
+        private MoveGenerator myMoves;
+
+        /**
+         * Constructs the buffers of a thread.
+         *
+         * @param theTable the table of the scores of the candidate boards, or null.
+         */
+        private Workspace(final TranspositionTable theTable) {
+            myEvaluator = new Evaluator(theTable);
+        }
+
+        /**
+         * Returns the move generator, replacing it if the board size changed.
+         *
+         * @param theBoard the board to search.
+         * @return a move generator for the board.
+         */
+        private MoveGenerator moves(final IBitBoard theBoard) {
+            if (myMoves == null || myMoves.getWidth() != theBoard.getWidth()
+                || myMoves.getHeight() != theBoard.getHeight()) {
+                myMoves = new MoveGenerator(theBoard.getWidth(), theBoard.getHeight());
+            }
+            return myMoves;
+        }
+    }
+}
@@ -0,0 +1,559 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Stores the frozen blocks of a Tetris board as one occupancy word per row plus
+ * a compact color plane used for rendering.
+ * <p>
+ * Collision and line-full queries are answered from the occupancy words with mask
+ * operations. A skyline of column heights is kept up to date as pieces are placed and
+ * rows are cleared, so the landing row of a dropped piece is usually found from the
+ * heights of the columns it covers. The color plane keeps the Block ordinal of every cell
+ * and is only read when the board is copied for observers.
+ * <p>
+ * The features bots evaluate boards with (cells, heights, holes, bumpiness, transitions
+ * and wells) are kept as running totals. Placing or removing a piece only revisits the
+ * rows and columns around it, so a candidate placement is scored by placing it, reading
+ * the totals and removing it again. A line clear revisits the rows from the lowest
+ * cleared one to the top of the stack and the column heights, never the rows below.
+ * <p>
+ * A {@link Zobrist} hash of the occupancy is kept the same way: placing or removing a
+ * piece XORs in the keys of its cells, and a line clear rehashes the rows it moves.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class BitBoard implements IBitBoard {
+
+    /**
+     * The widest board that fits in one occupancy word.
+     */
+    public static final int MAX_WIDTH = Integer.SIZE;
+
+    /**
+     * The tallest board supported, which keeps every cell of a board and its spawn
+     * area inside the range of cached {@link Point}s.
+     */
+    public static final int MAX_HEIGHT = 64;
+
+    /**
+     * Cached Block values, indexed by ordinal.
+     */
+    private static final Block[] BLOCKS = Block.values();
+
+    /**
+     * Width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * Height of the board.
+     */
+    private final int myHeight;
+
+    /**
+     * The occupancy word of a complete row.
+     */
+    private final int myFullRow;
+
+    /**
+     * Occupancy words, one per row, bottom row first.
+     */
+    private final int[] myRows;
+
+    /**
+     * Block ordinals, one array per row, bottom row first.
+     */
+    private final byte[][] myColors;
+
+    /**
+     * Height of each column, one more than the row of its highest block.
+     */
+    private final int[] myColumnHeights;
+
+    /**
+     * Number of occupied cells.
+     */
+    private int myCellCount;
+
+    /**
+     * Sum of the column heights.
+     */
+    private int myAggregateHeight;
+
+    /**
+     * Sum of the height differences between neighbouring columns.
+     */
+    private int myBumpiness;
+
+    /**
+     * Row transitions, see {@link #getRowTransitions()}.
+     */
+    private int myRowTransitions;
+
+    /**
+     * Column transitions, see {@link #getColumnTransitions()}.
+     */
+    private int myColumnTransitions;
+
+    /**
+     * Cumulative well depth, see {@link #getWells()}.
+     */
+    private int myWells;
+
+    /**
+     * Zobrist hash of the occupied cells.
+     */
+    private long myHash;
+
+    /**
+     * Constructs an empty bitboard.
+     *
+     * @param theWidth width of the board, at most {@link #MAX_WIDTH}.
+     * @param theHeight height of the board, at most {@link #MAX_HEIGHT}.
+     * @throws IllegalArgumentException if either dimension is out of range.
+     */
+    public BitBoard(final int theWidth, final int theHeight) {
+        super();
+        if (theWidth < 1 || theWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Board width must be between 1 and "
+                                               + MAX_WIDTH + ": " + theWidth);
+        }
+        if (theHeight < 1 || theHeight > MAX_HEIGHT) {
+            throw new IllegalArgumentException("Board height must be between 1 and "
+                                               + MAX_HEIGHT + ": " + theHeight);
+        }
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myFullRow = theWidth == MAX_WIDTH ? -1 : (1 << theWidth) - 1;
+        myRows = new int[theHeight];
+        myColors = new byte[theHeight][theWidth];
+        myColumnHeights = new int[theWidth];
+        recomputeFeatures();
+    }
+
+    @Override
+    public int getWidth() {
+        return myWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return myHeight;
+    }
+
+    @Override
+    public int getRow(final int theY) {
+        int row = 0;
+        if (theY >= 0 && theY < myHeight) {
+            row = myRows[theY];
+        }
+        return row;
+    }
+
+    @Override
+    public boolean isOccupied(final int theX, final int theY) {
+        return theX >= 0 && theX < myWidth && (getRow(theY) & (1 << theX)) != 0;
+    }
+
+    @Override
+    public Block getBlock(final int theX, final int theY) {
+        Block b = null;
+        if (isOccupied(theX, theY)) {
+            b = BLOCKS[myColors[theY][theX]];
+        }
+        return b;
+    }
+
+    @Override
+    public boolean isRowFull(final int theY) {
+        return getRow(theY) == myFullRow;
+    }
+
+    @Override
+    public int getColumnHeight(final int theX) {
+        return myColumnHeights[theX];
+    }
+
+    @Override
+    public int getCellCount() {
+        return myCellCount;
+    }
+
+    @Override
+    public int getAggregateHeight() {
+        return myAggregateHeight;
+    }
+
+    @Override
+    public int getHoles() {
+        return myAggregateHeight - myCellCount;
+    }
+
+    @Override
+    public int getBumpiness() {
+        return myBumpiness;
+    }
+
+    @Override
+    public int getRowTransitions() {
+        return myRowTransitions;
+    }
+
+    @Override
+    public int getColumnTransitions() {
+        return myColumnTransitions;
+    }
+
+    @Override
+    public int getWells() {
+        return myWells;
+    }
+
+    @Override
+    public long getHash() {
+        return myHash;
+    }
+
+    @Override
+    public int dropRow(final TetrisPiece thePiece, final int theRotation,
+                       final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int columns = thePiece.getMaxX(theRotation) - thePiece.getMinX(theRotation) + 1;
+        int landing = Integer.MIN_VALUE;
+        boolean aboveSurface = true;
+        for (int c = 0; aboveSurface && c < columns; c++) {
+            final int height = myColumnHeights[left + c];
+            final int bottom = thePiece.getColumnBottom(theRotation, c);
+            aboveSurface = theY + bottom >= height;
+            landing = Math.max(landing, height - bottom);
+        }
+        if (!aboveSurface) {
+            // part of the piece is below the skyline, under an overhang: step down
+            landing = theY;
+            while (canPlace(thePiece, theRotation, theX, landing - 1)) {
+                landing--;
+            }
+        }
+        return landing;
+    }
+
+    @Override
+    public int firstBlockedRow(final TetrisPiece thePiece, final int theRotation,
+                               final int theX) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int columns = thePiece.getMaxX(theRotation) - thePiece.getMinX(theRotation) + 1;
+        int result = Integer.MIN_VALUE;
+        for (int c = 0; c < columns; c++) {
+            result = Math.max(result, myColumnHeights[left + c]
+                                      - thePiece.getColumnBottom(theRotation, c));
+        }
+        return result - 1;
+    }
+
+    @Override
+    public boolean canPlace(final TetrisPiece thePiece, final int theRotation,
+                            final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int bottom = theY + thePiece.getMinY(theRotation);
+        boolean result = left >= 0 && theX + thePiece.getMaxX(theRotation) < myWidth
+                         && bottom >= 0;
+        final int top = Math.min(theY + thePiece.getMaxY(theRotation), myHeight - 1);
+        for (int y = bottom; result && y <= top; y++) {
+            result = (myRows[y] & (thePiece.getRowMask(theRotation, y - bottom) << left)) == 0;
+        }
+        return result;
+    }
+
+    /**
+     * Freezes a piece into the board. The piece must be inside the side walls;
+     * blocks above the top of the board are discarded.
+     *
+     * @param thePiece the TetrisPiece to freeze.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece.
+     * @param theY the y position of the piece.
+     * @return true if every block landed on the board.
+     */
+    public boolean place(final TetrisPiece thePiece, final int theRotation,
+                         final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int bottom = theY + thePiece.getMinY(theRotation);
+        final int top = theY + thePiece.getMaxY(theRotation);
+        final int columns = thePiece.getMaxX(theRotation) - thePiece.getMinX(theRotation) + 1;
+        final byte color = (byte) thePiece.getBlock().ordinal();
+        accumulateFeatures(-1, bottom, top, left - 1, left + columns);
+        for (int y = Math.max(bottom, 0); y <= top && y < myHeight; y++) {
+            final int mask = thePiece.getRowMask(theRotation, y - bottom) << left;
+            myHash ^= Zobrist.row(y, mask & ~myRows[y]);
+            myRows[y] |= mask;
+            final byte[] colors = myColors[y];
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                colors[Integer.numberOfTrailingZeros(bits)] = color;
+            }
+        }
+        for (int c = 0; c < columns; c++) {
+            // a column whose blocks are all above the board keeps its height
+            final int height = theY + thePiece.getColumnBottom(theRotation, c) < myHeight
+                    ? Math.min(theY + thePiece.getColumnTop(theRotation, c) + 1, myHeight) : 0;
+            if (height > myColumnHeights[left + c]) {
+                myColumnHeights[left + c] = height;
+            }
+        }
+        accumulateFeatures(1, bottom, top, left - 1, left + columns);
+        return top < myHeight;
+    }
+
+    /**
+     * Takes back the last piece frozen with {@link #place}, provided no rows were
+     * cleared since. Bots use this to score a candidate placement and undo it without
+     * copying the board.
+     *
+     * @param thePiece the TetrisPiece that was placed.
+     * @param theRotation the rotation ordinal it was placed with.
+     * @param theX the x position it was placed at.
+     * @param theY the y position it was placed at.
+     */
+    public void remove(final TetrisPiece thePiece, final int theRotation,
+                       final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int bottom = theY + thePiece.getMinY(theRotation);
+        final int top = theY + thePiece.getMaxY(theRotation);
+        final int columns = thePiece.getMaxX(theRotation) - thePiece.getMinX(theRotation) + 1;
+        accumulateFeatures(-1, bottom, top, left - 1, left + columns);
+        for (int y = Math.max(bottom, 0); y <= top && y < myHeight; y++) {
+            final int mask = thePiece.getRowMask(theRotation, y - bottom) << left;
+            myHash ^= Zobrist.row(y, mask & myRows[y]);
+            myRows[y] &= ~mask;
+        }
+        for (int c = 0; c < columns; c++) {
+            final int bit = 1 << (left + c);
+            int height = myColumnHeights[left + c];
+            while (height > 0 && (myRows[height - 1] & bit) == 0) {
+                height--;
+            }
+            myColumnHeights[left + c] = height;
+        }
+        accumulateFeatures(1, bottom, top, left - 1, left + columns);
+    }
+
+    @Override
+    public void copyTo(final BitBoard theTarget) {
+        if (theTarget.myWidth != myWidth || theTarget.myHeight != myHeight) {
+            throw new IllegalArgumentException("Board sizes differ: " + myWidth + 'x' + myHeight
+                                               + " and " + theTarget.myWidth + 'x'
+                                               + theTarget.myHeight);
+        }
+        if (theTarget != this) {
+            System.arraycopy(myRows, 0, theTarget.myRows, 0, myHeight);
+            System.arraycopy(myColumnHeights, 0, theTarget.myColumnHeights, 0, myWidth);
+            theTarget.myCellCount = myCellCount;
+            theTarget.myAggregateHeight = myAggregateHeight;
+            theTarget.myBumpiness = myBumpiness;
+            theTarget.myRowTransitions = myRowTransitions;
+            theTarget.myColumnTransitions = myColumnTransitions;
+            theTarget.myWells = myWells;
+            theTarget.myHash = myHash;
+            for (int y = 0; y < myHeight; y++) {
+                System.arraycopy(myColors[y], 0, theTarget.myColors[y], 0, myWidth);
+            }
+        }
+    }
+
+    /**
+     * Removes every frozen block.
+     */
+    public void clear() {
+        Arrays.fill(myRows, 0);
+        Arrays.fill(myColumnHeights, 0);
+        myHash = 0;
+        for (final byte[] row : myColors) {
+            Arrays.fill(row, (byte) 0);
+        }
+        recomputeFeatures();
+    }
+
+    /**
+     * Removes the complete rows within a range, compacting the rows above them downwards
+     * in a single pass.
+     * <p>
+     * Only rows touched by the last placed piece can become complete, so the caller
+     * passes the rows that piece covered and no other row is examined. Color rows are
+     * swapped rather than copied, so the arrays of the removed rows end up above the
+     * stack where they are cleared and reused as the new empty rows. Nothing is allocated.
+     *
+     * @param theFromRow the lowest row to examine, on the board.
+     * @param theToRow the highest row to examine, on the board and less than 32 rows
+     *        above theFromRow.
+     * @return a mask of the removed rows, bit i set when row theFromRow + i was removed.
+     */
+    public int clearFullRows(final int theFromRow, final int theToRow) {
+        int cleared = 0;
+        for (int y = theFromRow; y <= theToRow; y++) {
+            if (myRows[y] == myFullRow) {
+                cleared |= 1 << (y - theFromRow);
+            }
+        }
+        if (cleared != 0) {
+            compact(theFromRow + Integer.numberOfTrailingZeros(cleared),
+                    Integer.bitCount(cleared));
+        }
+        return cleared;
+    }
+
+    /**
+     * Moves every incomplete row at or above a row down over the complete ones. Only the
+     * rows from the lowest complete one to the top of the stack are visited, and the
+     * features are updated for those rows and the column heights.
+     *
+     * @param theFirstFullRow the lowest complete row.
+     * @param theCount the number of complete rows.
+     */
+    private void compact(final int theFirstFullRow, final int theCount) {
+        int highest = 0;
+        for (int x = 0; x < myWidth; x++) {
+            highest = Math.max(highest, myColumnHeights[x]);
+        }
+        final int top = highest - 1;
+        // the rows below the cleared ones keep their contributions; every column drops
+        accumulateFeatures(-1, theFirstFullRow, top, 0, myWidth - 1);
+        myHash ^= Zobrist.row(theFirstFullRow, myRows[theFirstFullRow]);
+        int dst = theFirstFullRow;
+        for (int src = theFirstFullRow + 1; src <= top; src++) {
+            final int row = myRows[src];
+            // every moved row is rehashed at its new position; empty rows hash to 0
+            myHash ^= Zobrist.row(src, row);
+            if (row != myFullRow) {
+                final byte[] colors = myColors[dst];
+                myHash ^= Zobrist.row(dst, row);
+                myRows[dst] = row;
+                myColors[dst] = myColors[src];
+                myColors[src] = colors;
+                dst++;
+            }
+        }
+        for (int y = dst; y <= top; y++) {
+            myRows[y] = 0;
+            Arrays.fill(myColors[y], (byte) 0);
+        }
+        // every column reached above the removed rows, so each drops by at least theCount
+        for (int x = 0; x < myWidth; x++) {
+            final int bit = 1 << x;
+            int height = myColumnHeights[x] - theCount;
+            while (height > 0 && (myRows[height - 1] & bit) == 0) {
+                height--;
+            }
+            myColumnHeights[x] = height;
+        }
+        accumulateFeatures(1, theFirstFullRow, top, 0, myWidth - 1);
+    }
+
+    /**
+     * Recomputes every evaluation feature from scratch.
+     */
+    private void recomputeFeatures() {
+        myCellCount = 0;
+        myAggregateHeight = 0;
+        myBumpiness = 0;
+        myRowTransitions = 0;
+        myColumnTransitions = 0;
+        myWells = 0;
+        accumulateFeatures(1, 0, myHeight - 1, 0, myWidth - 1);
+    }
+
+    /**
+     * Adds or subtracts the contributions of a block of rows and columns to the
+     * evaluation features. Callers subtract the area around a change, make the change
+     * and add the same area back.
+     * <p>
+     * Rows contribute their cells and row transitions, and the column transitions
+     * between themselves and the row below; the row above the block is included
+     * because the transitions into it change too. Columns contribute their heights and
+     * wells, and the bumpiness between neighbours inside the block. The area must
+     * include one column on each side of the changed columns.
+     *
+     * @param theSign 1 to add the contributions, -1 to subtract them.
+     * @param theFromRow the lowest row, clamped to the board.
+     * @param theToRow the highest row, clamped to the board.
+     * @param theFromColumn the leftmost column, clamped to the board.
+     * @param theToColumn the rightmost column, clamped to the board.
+     */
+    private void accumulateFeatures(final int theSign, final int theFromRow,
+                                    final int theToRow, final int theFromColumn,
+                                    final int theToColumn) {
+        final int fromRow = Math.max(theFromRow, 0);
+        final int toRow = Math.min(theToRow, myHeight - 1);
+        int cells = 0;
+        int rowTransitions = 0;
+        for (int y = fromRow; y <= toRow; y++) {
+            cells += Integer.bitCount(myRows[y]);
+            rowTransitions += rowTransitions(myRows[y]);
+        }
+        int columnTransitions = 0;
+        for (int y = fromRow; y <= Math.min(theToRow + 1, myHeight - 1); y++) {
+            final int below = y == 0 ? myFullRow : myRows[y - 1];
+            columnTransitions += Integer.bitCount(myRows[y] ^ below);
+        }
+        final int fromColumn = Math.max(theFromColumn, 0);
+        final int toColumn = Math.min(theToColumn, myWidth - 1);
+        int height = 0;
+        int bumpiness = 0;
+        int wells = 0;
+        for (int x = fromColumn; x <= toColumn; x++) {
+            height += myColumnHeights[x];
+            if (x < toColumn) {
+                bumpiness += Math.abs(myColumnHeights[x] - myColumnHeights[x + 1]);
+            }
+            final int depth = Math.min(x == 0 ? myHeight : myColumnHeights[x - 1],
+                                       x == myWidth - 1 ? myHeight : myColumnHeights[x + 1])
+                              - myColumnHeights[x];
+            if (depth > 0) {
+                wells += depth * (depth + 1) / 2;
+            }
+        }
+        myCellCount += theSign * cells;
+        myRowTransitions += theSign * rowTransitions;
+        myColumnTransitions += theSign * columnTransitions;
+        myAggregateHeight += theSign * height;
+        myBumpiness += theSign * bumpiness;
+        myWells += theSign * wells;
+    }
+
+    /**
+     * Counts the changes between empty and occupied cells along a row, with the side
+     * walls counted as occupied.
+     *
+     * @param theRow the occupancy word of the row.
+     * @return the number of transitions.
+     */
+    private int rowTransitions(final int theRow) {
+        // the row with a wall bit on each side, the left wall at bit 0
+        final long walled = (theRow & 0xFFFFFFFFL) << 1 | 1L | 1L << (myWidth + 1);
+        return Long.bitCount((walled ^ walled >>> 1) & (1L << (myWidth + 1)) - 1);
+    }
+
+    /**
+     * Copies one row of the color plane into a Block array, using null for empty cells.
+     *
+     * @param theY the row to copy.
+     * @param theTarget the array to fill, at least {@link #getWidth()} long.
+     */
+    public void copyRow(final int theY, final Block[] theTarget) {
+        final int row = myRows[theY];
+        final byte[] colors = myColors[theY];
+        for (int x = 0; x < myWidth; x++) {
+            if ((row & (1 << x)) == 0) {
+                theTarget[x] = null;
+            } else {
+                theTarget[x] = BLOCKS[colors[x]];
+            }
+        }
+    }
+}
@@ -8,8 +8,10 @@ package model;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import model.wallkicks.WallKick;
 
 /**
@@ -17,8 +19,10 @@ import model.wallkicks.WallKick;
  * <p>Clients can expect Board objects to call norifyObservers with four different 
  * data types:</p>
  * <dl>
- * <dt>{@code List<Block[]>}</dt>
+ * <dt>{@link BoardSnapshot}</dt>
  * <dd>Represents the non-moving pieces on the Board. i.e. Frozen Blocks</dd>
+ * <dt>{@link BoardDelta}</dt>
+ * <dd>Represents the cells set and rows cleared by one frozen piece.</dd>
  * <dt>{@link MovableTetrisPiece MovableTerisPiece}</dt>
  * <dd>Represents current moving Piece.</dd>
  * <dt>{@link TetrisPiece TertisPiece}</dt>
@@ -28,6 +32,8 @@ import model.wallkicks.WallKick;
  * <dt>{@code Boolean}</dt>
  * <dd>When true, the game is over. </dd>
  * </dl>
+ * <p>The same notifications are published to typed subscribers on the
+ * {@link BoardEventBus} returned by {@link #getEvents()}.</p>
  * 
  * @author Charles Bryan
  * @author Alan Fowler
@@ -74,6 +80,10 @@ public final class Board implements IBoard {
      * This represents the property name for a change in the next Tetris piece.
      */
     public static final String PROPERTY_NEXT_PIECE = "NextPiece";
+    /**
+     * This represents the property name for an advance of the preview queue.
+     */
+    public static final String PROPERTY_PREVIEW = "Preview";
     /**
      * This represents the property name for a change indicating the game is over.
      */
@@ -90,6 +100,15 @@ public final class Board implements IBoard {
      * This represents the property name for when current game level changes.
      */
     public static final String PROPERTY_LEVEL = "Level";
+    /**
+     * This represents the property name for the cells and rows changed by one frozen piece.
+     */
+    public static final String PROPERTY_BOARD_DELTA = "BoardDelta";
+    /**
+     * This represents the property name for a periodic full snapshot that lets delta
+     * observers resynchronize.
+     */
+    public static final String PROPERTY_BOARD_SYNC = "BoardSync";
 
 
 
@@ -104,6 +123,51 @@ public final class Board implements IBoard {
      * Default height of a Tetris game board.
      */
     private static final int DEFAULT_HEIGHT = 20;
+
+    /**
+     * Default number of pieces that can be previewed.
+     */
+    private static final int DEFAULT_PREVIEW_DEPTH = 6;
+
+    /**
+     * Number of board versions between two full snapshots sent to delta observers.
+     */
+    private static final int SYNC_INTERVAL = 64;
+
+    /**
+     * The number of blocks in a TetrisPiece.
+     */
+    private static final int PIECE_BLOCKS = 4;
+
+    /**
+     * Pending notification of the current piece during a batch.
+     */
+    private static final int PENDING_PIECE = 1;
+
+    /**
+     * Pending notification of the frozen blocks during a batch.
+     */
+    private static final int PENDING_BOARD = 1 << 1;
+
+    /**
+     * Pending notification of the score during a batch.
+     */
+    private static final int PENDING_SCORE = 1 << 2;
+
+    /**
+     * Pending notification of the cleared rows and the level during a batch.
+     */
+    private static final int PENDING_ROWS = 1 << 3;
+
+    /**
+     * Pending notification of the preview during a batch.
+     */
+    private static final int PENDING_PREVIEW = 1 << 4;
+
+    /**
+     * Pending notification of the end of the game during a batch.
+     */
+    private static final int PENDING_GAME_OVER = 1 << 5;
     /**
      * Constant for score, if score tracker is equal to 4.
      */
@@ -137,9 +201,9 @@ public final class Board implements IBoard {
      */
     private int myScoreTracker;
     /**
-     * Implements singleton design pattern.
+     * The shared default board used by the GUI.
      */
-    private static final Board INSTANCE = new Board(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    private static final Board INSTANCE = create(DEFAULT_WIDTH, DEFAULT_HEIGHT);
 
     
     // Instance fields
@@ -157,7 +221,7 @@ public final class Board implements IBoard {
     /**
      * The frozen blocks on the board.
      */
-    private final List<Block[]> myFrozenBlocks;
+    private final BitBoard myFrozenBlocks;
     
     /**
      * The game over state.
@@ -165,67 +229,171 @@ public final class Board implements IBoard {
     private boolean myGameOver;
 
     /**
-     * Contains a non random sequence of TetrisPieces to loop through.
+     * Contains a non random sequence of TetrisPieces to loop through, or null.
      */
-    private List<TetrisPiece> myNonRandomPieces;
+    private TetrisPiece[] myPieceSequence;
 
     /**
-     * The current index in the non random piece sequence.
+     * Pieces that are next to play.
      */
-    private int mySequenceIndex;
+    private final PieceQueue myPreview;
     
     /**
-     * Piece that is next to play.
+     * Piece that is currently movable, as a packed {@link PieceState}.
      */
-    private TetrisPiece myNextPiece;
-    
+    private int myCurrentPiece = PieceState.NONE;
+
+    /**
+     * Rows handed to the next snapshot. A row is null when it changed since the
+     * last snapshot and has to be rebuilt from the frozen blocks.
+     */
+    private final Block[][] myRowViews;
+
+    /**
+     * An empty row shared by every snapshot.
+     */
+    private final Block[] myEmptyRow;
+
+    /**
+     * The latest snapshot, or null when the frozen blocks changed since it was taken.
+     */
+    private BoardSnapshot mySnapshot;
+
+    /**
+     * Version of the frozen blocks, incremented every time they change.
+     */
+    private long myVersion;
+
+    /**
+     * Cells set by the last frozen piece, packed for a BoardDelta.
+     */
+    private final int[] myDeltaCells = new int[PIECE_BLOCKS];
+
+    /**
+     * Number of cells set by the last frozen piece.
+     */
+    private int myDeltaCellCount;
+
+    /**
+     * Lowest row examined for line clears after the last frozen piece.
+     */
+    private int myDeltaClearedFrom;
+
+    /**
+     * Whether a batch of commands is running and notifications are held back.
+     */
+    private boolean myBatching;
+
+    /**
+     * Notifications held back by the running batch, a set of PENDING flags.
+     */
+    private int myPending;
+
+    /**
+     * Number of pieces frozen by the running batch.
+     */
+    private int myBatchFreezes;
+
     /**
-     * Piece that is currently movable.
+     * Mask of the rows cleared after the last frozen piece, relative to myDeltaClearedFrom.
      */
-    private MovableTetrisPiece myCurrentPiece;
+    private int myDeltaCleared;
 
     /**
-     * A flag to indicate when moving a piece down is part of a drop operation.
-     * This is used to prevent the Board from notifying observers for each incremental
-     * down movement in the drop.
+     * Source of the pieces played when no non random sequence is set.
      */
-    private boolean myDrop;
+    private final IPieceGenerator myPieceGenerator;
 
     /**
      * Add a refernce to a PropertyChangeSupport object.
      */
     private final PropertyChangeSupport myPcs = new PropertyChangeSupport(this);
 
+    /**
+     * Typed subscribers to the notifications of this Board.
+     */
+    private final BoardEventBus myEvents = new BoardEventBus();
+
 
     /**
      * Tetris board constructor for non-default sized boards.
      *
      * @param theWidth Width of the Tetris game board.
      * @param theHeight Height of the Tetris game board.
+     * @param thePieceGenerator Source of the pieces to play.
+     * @param thePreviewDepth Number of pieces that can be previewed.
      */
-    private Board(final int theWidth, final int theHeight) {
+    private Board(final int theWidth, final int theHeight,
+                  final IPieceGenerator thePieceGenerator, final int thePreviewDepth) {
         super();
         myWidth = theWidth;
         myHeight = theHeight;
-        myFrozenBlocks = new LinkedList<>();
+        myPieceGenerator = Objects.requireNonNull(thePieceGenerator);
+        myPreview = new PieceQueue(thePreviewDepth, thePieceGenerator);
+        myFrozenBlocks = new BitBoard(theWidth, theHeight);
+        myEmptyRow = new Block[theWidth];
+        myRowViews = new Block[theHeight][];
+        Arrays.fill(myRowViews, myEmptyRow);
 
-        myNonRandomPieces = new ArrayList<>();
-        mySequenceIndex = 0;
-
-        /*  myNextPiece and myCurrentPiece
-         *  are initialized by the newGame() method.
+        /*  myCurrentPiece
+         *  is initialized by the newGame() method.
          */
     }
 
     /**
-     * This constructor returns the singleton instance of the Board class.
+     * Returns the shared default sized Board used by the GUI.
      *
-     * @return returns the singleton instance of the Board.
+     * @return returns the shared instance of the Board.
      */
     public static Board getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Creates an independent Board that plays uniformly random pieces from its own
+     * unseeded {@link PieceGenerator}.
+     *
+     * @param theWidth Width of the Tetris game board, at most {@link BitBoard#MAX_WIDTH}.
+     * @param theHeight Height of the Tetris game board, at most {@link BitBoard#MAX_HEIGHT}.
+     * @return a new Board.
+     * @throws IllegalArgumentException if either dimension is out of range.
+     */
+    public static Board create(final int theWidth, final int theHeight) {
+        return create(theWidth, theHeight,
+                      PieceGenerator.create(PieceGenerator.Strategy.UNIFORM,
+                                            ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * Creates an independent Board.
+     *
+     * @param theWidth Width of the Tetris game board, at most {@link BitBoard#MAX_WIDTH}.
+     * @param theHeight Height of the Tetris game board, at most {@link BitBoard#MAX_HEIGHT}.
+     * @param thePieceGenerator Source of the pieces to play.
+     * @return a new Board.
+     * @throws IllegalArgumentException if either dimension is out of range.
+     */
+    public static Board create(final int theWidth, final int theHeight,
+                               final IPieceGenerator thePieceGenerator) {
+        return create(theWidth, theHeight, thePieceGenerator, DEFAULT_PREVIEW_DEPTH);
+    }
+
+    /**
+     * Creates an independent Board with a preview queue of a given depth.
+     *
+     * @param theWidth Width of the Tetris game board, at most {@link BitBoard#MAX_WIDTH}.
+     * @param theHeight Height of the Tetris game board, at most {@link BitBoard#MAX_HEIGHT}.
+     * @param thePieceGenerator Source of the pieces to play.
+     * @param thePreviewDepth Number of pieces that can be previewed.
+     * @return a new Board.
+     * @throws IllegalArgumentException if a dimension or the depth is out of range.
+     */
+    public static Board create(final int theWidth, final int theHeight,
+                               final IPieceGenerator thePieceGenerator,
+                               final int thePreviewDepth) {
+        return new Board(theWidth, theHeight, thePieceGenerator, thePreviewDepth);
+    }
+
     // Constructors
 
 
@@ -248,6 +416,11 @@ public final class Board implements IBoard {
     public void removePropertyChangeListener(final PropertyChangeListener theListener) {
         this.myPcs.removePropertyChangeListener(theListener);
     }
+
+    @Override
+    public BoardEventBus getEvents() {
+        return myEvents;
+    }
     
 
     // public queries
@@ -281,19 +454,15 @@ public final class Board implements IBoard {
      */
     @Override
     public void newGame() {
-        mySequenceIndex = 0;
         myFrozenBlocks.clear();
-        for (int h = 0; h < myHeight; h++) {
-            myFrozenBlocks.add(new Block[myWidth]);
-        }
+        Arrays.fill(myRowViews, myEmptyRow);
+        mySnapshot = null;
+        myVersion++;
         // Reset game over state
         myGameOver = false;
         // Get the next movable Tetris piece
         // Initialize the current movable Tetris piece
         myCurrentPiece = nextMovablePiece(true);
-        // Reset the drop flag
-        // Reset the flag indicating whether the piece is dropped
-        myDrop = false;
         // Reset the score
         // Initialize the game score
         myScore = 0;
@@ -310,13 +479,13 @@ public final class Board implements IBoard {
         // Initialize the score tracker
         myScoreTracker = 0;
 
-        myPcs.firePropertyChange(PROPERTY_GAME_BOARD, null,
-                myFrozenBlocks.toArray());
-        myPcs.firePropertyChange(PROPERTY_GAME_OVER, null, false);
-        myPcs.firePropertyChange(PROPERTY_SCORE_UPDATE, null, myScore);
-        myPcs.firePropertyChange(PROPERTY_ROW_CLEAR, null, myRowsCleared);
-        myPcs.firePropertyChange(PROPERTY_NEXT_LEVEL_COUNTER, null, myNextLevelCounter);
-        myPcs.firePropertyChange(PROPERTY_LEVEL, null, myCurrentLevel);
+        fireSnapshot();
+        fireSync();
+        fire(PROPERTY_GAME_OVER, BoardEvent.GAME_OVER, Boolean.FALSE);
+        fire(PROPERTY_SCORE_UPDATE, BoardEvent.SCORE, myScore);
+        fire(PROPERTY_ROW_CLEAR, BoardEvent.LINES, myRowsCleared);
+        fire(PROPERTY_NEXT_LEVEL_COUNTER, BoardEvent.NEXT_LEVEL_COUNTER, myNextLevelCounter);
+        fire(PROPERTY_LEVEL, BoardEvent.LEVEL, myCurrentLevel);
     }
 
     /**
@@ -326,8 +495,7 @@ public final class Board implements IBoard {
      */
     @Override
     public void setPieceSequence(final List<TetrisPiece> thePieces) {
-        myNonRandomPieces = new ArrayList<>(thePieces);
-        mySequenceIndex = 0;
+        myPieceSequence = thePieces.isEmpty() ? null : thePieces.toArray(new TetrisPiece[0]);
         myCurrentPiece = nextMovablePiece(true);
     }
     
@@ -357,17 +525,17 @@ public final class Board implements IBoard {
      */
     @Override
     public void down() {
-        if (!move(myCurrentPiece.down())) {
+        if (!move(PieceState.down(myCurrentPiece))) {
             // the piece froze, so clear lines and update current piece
-            addPieceToBoardData(myFrozenBlocks, myCurrentPiece);
-            checkRows();
+            addPieceToBoardData(myCurrentPiece);
+            checkRows(myCurrentPiece);
+            fireBoardChanged();
             if (!myGameOver) {
                 // Increment the score for moving the piece down
                 myScore += 4;
                 myCurrentPiece = nextMovablePiece(false);
-                myPcs.firePropertyChange(PROPERTY_CURRENT_PIECE, null, myCurrentPiece);
-                myPcs.firePropertyChange(PROPERTY_GAME_BOARD, null, getBoard());
-                myPcs.firePropertyChange(PROPERTY_SCORE_UPDATE, null, myScore);
+                fireCurrentPiece();
+                fireScore();
             }
         }
     }
@@ -377,8 +545,8 @@ public final class Board implements IBoard {
      */
     @Override
     public void left() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.left());
+        if (myCurrentPiece != PieceState.NONE) {
+            move(PieceState.left(myCurrentPiece));
         }
     }
 
@@ -387,8 +555,8 @@ public final class Board implements IBoard {
      */
     @Override
     public void right() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.right());
+        if (myCurrentPiece != PieceState.NONE) {
+            move(PieceState.right(myCurrentPiece));
         }
     }
 
@@ -397,22 +565,8 @@ public final class Board implements IBoard {
      */
     @Override
     public void rotateCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCW());
-            } else {
-                final MovableTetrisPiece cwPiece = myCurrentPiece.rotateCW();
-                final Point[] offsets = WallKick.getWallKicks(cwPiece.getTetrisPiece(),
-                                                    myCurrentPiece.getRotation(),
-                                                    cwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = cwPiece.getPosition().transform(p);
-                    final MovableTetrisPiece temp = cwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
+        if (myCurrentPiece != PieceState.NONE) {
+            rotate(PieceState.rotateCW(myCurrentPiece));
         }
     }
     
@@ -421,42 +575,187 @@ public final class Board implements IBoard {
      */
     @Override
     public void rotateCCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCCW());
-            } else {
-                final MovableTetrisPiece ccwPiece = myCurrentPiece.rotateCCW();
-                final Point[] offsets = WallKick.getWallKicks(ccwPiece.getTetrisPiece(),
-                                                    myCurrentPiece.getRotation(),
-                                                    ccwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = ccwPiece.getPosition().transform(p);
-                    final MovableTetrisPiece temp = ccwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
+        if (myCurrentPiece != PieceState.NONE) {
+            rotate(PieceState.rotateCCW(myCurrentPiece));
         }
     }
 
     /**
      * Drop the piece until piece is set.
+     * <p>
+     * The landing row comes straight from the skyline, so observers are not notified
+     * of the intermediate positions.
      */
     @Override
     public void drop() {
         if (!myGameOver) {
-            myDrop = true;
-            while (isPieceLegal(myCurrentPiece.down())) {
-                down();  // move down as far as possible
-            }
-            myDrop = false;
+            final int landing = myFrozenBlocks.dropRow(PieceState.piece(myCurrentPiece),
+                                                       PieceState.rotation(myCurrentPiece),
+                                                       PieceState.x(myCurrentPiece),
+                                                       PieceState.y(myCurrentPiece));
+            myCurrentPiece = PieceState.setPosition(myCurrentPiece,
+                                                    PieceState.x(myCurrentPiece), landing);
             down();  // move down one more time to freeze in place
         }
     }
+
+    /**
+     * Applies a sequence of inputs as one batch. Observers are not notified while the
+     * batch runs; afterwards every property that changed is notified once with its
+     * final value. If the batch froze more than one piece, delta observers receive a
+     * full snapshot instead of the deltas. The batch stops early if the game ends.
+     *
+     * @param theCommands the {@link Input} codes.
+     * @param theFrom the index of the first input to apply.
+     * @param theTo one past the index of the last input to apply.
+     * @return the number of inputs applied.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     * @throws IllegalArgumentException for an unknown input code; the inputs before it
+     *         have been applied and notified.
+     */
+    @Override
+    public int apply(final int[] theCommands, final int theFrom, final int theTo) {
+        Objects.checkFromToIndex(theFrom, theTo, theCommands.length);
+        final boolean outer = !myBatching;
+        myBatching = true;
+        int i = theFrom;
+        try {
+            for (; i < theTo && !myGameOver; i++) {
+                switch (theCommands[i]) {
+                    case Input.LEFT -> left();
+                    case Input.RIGHT -> right();
+                    case Input.DOWN -> down();
+                    case Input.ROTATE_CW -> rotateCW();
+                    case Input.ROTATE_CCW -> rotateCCW();
+                    case Input.DROP -> drop();
+                    default -> throw new IllegalArgumentException("Unknown input "
+                                                                  + theCommands[i]);
+                }
+            }
+        } finally {
+            if (outer) {
+                myBatching = false;
+                firePending();
+            }
+        }
+        return i - theFrom;
+    }
     
 
 
+    /**
+     * Returns whether the current game is over.
+     *
+     * @return true if the game is over.
+     */
+    @Override
+    public boolean isGameOver() {
+        return myGameOver;
+    }
+
+    /**
+     * Returns the score of the current game.
+     *
+     * @return the score.
+     */
+    @Override
+    public int getScore() {
+        return myScore;
+    }
+
+    /**
+     * Returns the number of rows cleared in the current game.
+     *
+     * @return the number of cleared rows.
+     */
+    @Override
+    public int getRowsCleared() {
+        return myRowsCleared;
+    }
+
+    /**
+     * Returns the movable piece as a packed state.
+     *
+     * @return the packed state of the current piece, see {@link PieceState}, or
+     *         {@link PieceState#NONE} before the first game.
+     */
+    @Override
+    public int getCurrentPiece() {
+        return myCurrentPiece;
+    }
+
+    /**
+     * Returns a live read-only view of the frozen blocks.
+     *
+     * @return the frozen blocks.
+     */
+    @Override
+    public IBitBoard getFrozenBlocks() {
+        return myFrozenBlocks;
+    }
+
+    /**
+     * Returns an immutable snapshot of the frozen blocks. Rows that did not change
+     * since the previous snapshot are shared with it.
+     *
+     * @return the current snapshot.
+     */
+    @Override
+    public BoardSnapshot getSnapshot() {
+        if (mySnapshot == null) {
+            for (int y = 0; y < myHeight; y++) {
+                if (myRowViews[y] == null) {
+                    final Block[] row = new Block[myWidth];
+                    myFrozenBlocks.copyRow(y, row);
+                    myRowViews[y] = row;
+                }
+            }
+            mySnapshot = new BoardSnapshot(myVersion, myWidth, myRowViews.clone());
+        }
+        return mySnapshot;
+    }
+
+    /**
+     * Returns a live read-only view of the pieces that are next to play.
+     *
+     * @return the preview queue.
+     */
+    @Override
+    public IPieceQueue getPreview() {
+        return myPreview;
+    }
+
+    /**
+     * Returns a Zobrist hash of the position. The hash of the frozen blocks is kept up
+     * to date as pieces freeze and rows clear; the current and preview pieces are
+     * mixed in on each call.
+     *
+     * @return the 64-bit hash.
+     */
+    @Override
+    public long getHash() {
+        long hash = myFrozenBlocks.getHash();
+        if (myCurrentPiece != PieceState.NONE) {
+            hash ^= Zobrist.piece(myCurrentPiece);
+        }
+        for (int i = 0; i < myPreview.size(); i++) {
+            hash ^= Zobrist.preview(i, myPreview.peekOrdinal(i));
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean canPlace(final TetrisPiece thePiece, final int theRotation,
+                            final int theX, final int theY) {
+        return myFrozenBlocks.canPlace(thePiece, theRotation, theX, theY);
+    }
+
+    @Override
+    public int firstBlockedRow(final TetrisPiece thePiece, final int theRotation,
+                               final int theX) {
+        return myFrozenBlocks.firstBlockedRow(thePiece, theRotation, theX);
+    }
+
     @SuppressWarnings("OverlyLongMethod")
     @Override
     public String toString() {
@@ -466,8 +765,8 @@ public final class Board implements IBoard {
         board.add(new Block[myWidth]);
         board.add(new Block[myWidth]);
         final String line = "-".repeat(this.myWidth);
-        if (myCurrentPiece != null) {
-            addPieceToBoardData(board, myCurrentPiece);
+        if (myCurrentPiece != PieceState.NONE) {
+            addPieceToList(board, myCurrentPiece);
         }
         final StringBuilder sb = new StringBuilder();
         for (int i = board.size() - 1; i >= 0; i--) {
@@ -500,21 +799,233 @@ public final class Board implements IBoard {
      * Helper function to check if the current piece can be shifted to the
      * specified position.
      * 
-     * @param theMovedPiece the position to attempt to shift the current piece
+     * @param theMovedPiece the packed state to attempt to shift the current piece to
      * @return True if the move succeeded
      */
-    private boolean move(final MovableTetrisPiece theMovedPiece) {
+    private boolean move(final int theMovedPiece) {
         boolean result = false;
         if (isPieceLegal(theMovedPiece)) {
             myCurrentPiece = theMovedPiece;
             result = true;
-            if (!myDrop) {
-                myPcs.firePropertyChange(PROPERTY_CURRENT_PIECE, null, myCurrentPiece);
-            }
+            fireCurrentPiece();
         }
         return result;
     }
 
+    /**
+     * Helper function to rotate the current piece, trying each wall kick offset
+     * in turn until one of them is legal.
+     *
+     * @param theRotatedPiece the packed state of the rotated piece before any kick
+     */
+    private void rotate(final int theRotatedPiece) {
+        final TetrisPiece piece = PieceState.piece(theRotatedPiece);
+        final int from = PieceState.rotation(myCurrentPiece);
+        final int to = PieceState.rotation(theRotatedPiece);
+        final int kicks = WallKick.getKickCount(piece, from, to);
+        boolean moved = false;
+        for (int k = 0; !moved && k < kicks; k++) {
+            moved = move(PieceState.translate(theRotatedPiece,
+                                              WallKick.getKickX(piece, from, to, k),
+                                              WallKick.getKickY(piece, from, to, k)));
+        }
+    }
+
+    /**
+     * Notifies observers of the current piece. The MovableTetrisPiece view is only
+     * created when someone is listening.
+     */
+    private void fireCurrentPiece() {
+        if (myBatching) {
+            myPending |= PENDING_PIECE;
+        } else if (isObserved(PROPERTY_CURRENT_PIECE, BoardEvent.CURRENT_PIECE)) {
+            fire(PROPERTY_CURRENT_PIECE, BoardEvent.CURRENT_PIECE,
+                 new MovableTetrisPiece(myCurrentPiece));
+        }
+    }
+
+    /**
+     * Notifies observers of the frozen blocks after a piece froze. Snapshots and deltas
+     * are only built for properties someone is listening to. Every SYNC_INTERVAL
+     * versions delta observers also receive a full snapshot.
+     */
+    private void fireBoardChanged() {
+        if (myBatching) {
+            myPending |= PENDING_BOARD;
+            myBatchFreezes++;
+        } else {
+            fireBoard();
+        }
+    }
+
+    /**
+     * Sends the frozen blocks to snapshot and delta observers.
+     */
+    private void fireBoard() {
+        fireSnapshot();
+        if (isObserved(PROPERTY_BOARD_DELTA, BoardEvent.BOARD_DELTA)) {
+            final int[] cleared = new int[Integer.bitCount(myDeltaCleared)];
+            int i = 0;
+            for (int bits = myDeltaCleared; bits != 0; bits &= bits - 1) {
+                cleared[i++] = myDeltaClearedFrom + Integer.numberOfTrailingZeros(bits);
+            }
+            fire(PROPERTY_BOARD_DELTA, BoardEvent.BOARD_DELTA,
+                 new BoardDelta(myVersion, Arrays.copyOf(myDeltaCells, myDeltaCellCount),
+                                cleared));
+        }
+        if (myVersion % SYNC_INTERVAL == 0) {
+            fireSync();
+        }
+    }
+
+    /**
+     * Sends the frozen blocks to snapshot observers.
+     */
+    private void fireSnapshot() {
+        if (isObserved(PROPERTY_GAME_BOARD, BoardEvent.GAME_BOARD)) {
+            fire(PROPERTY_GAME_BOARD, BoardEvent.GAME_BOARD, getSnapshot());
+        }
+    }
+
+    /**
+     * Sends the frozen blocks to the observers that resynchronize deltas.
+     */
+    private void fireSync() {
+        if (isObserved(PROPERTY_BOARD_SYNC, BoardEvent.BOARD_SYNC)) {
+            fire(PROPERTY_BOARD_SYNC, BoardEvent.BOARD_SYNC, getSnapshot());
+        }
+    }
+
+    /**
+     * Notifies observers of the score.
+     */
+    private void fireScore() {
+        if (myBatching) {
+            myPending |= PENDING_SCORE;
+        } else {
+            fire(PROPERTY_SCORE_UPDATE, BoardEvent.SCORE, myScore);
+        }
+    }
+
+    /**
+     * Notifies observers of the cleared rows, the rows left to the next level and the
+     * level.
+     */
+    private void fireRows() {
+        if (myBatching) {
+            myPending |= PENDING_ROWS;
+        } else {
+            fire(PROPERTY_ROW_CLEAR, BoardEvent.LINES, myRowsCleared);
+            fire(PROPERTY_NEXT_LEVEL_COUNTER, BoardEvent.NEXT_LEVEL_COUNTER,
+                 myNextLevelCounter);
+            fire(PROPERTY_LEVEL, BoardEvent.LEVEL, myCurrentLevel);
+        }
+    }
+
+    /**
+     * Notifies observers that the preview advanced.
+     */
+    private void firePreview() {
+        if (myBatching) {
+            myPending |= PENDING_PREVIEW;
+        } else {
+            if (isObserved(PROPERTY_PREVIEW, BoardEvent.PREVIEW)) {
+                fire(PROPERTY_PREVIEW, BoardEvent.PREVIEW, myPreview.snapshot());
+            }
+            if (isObserved(PROPERTY_NEXT_PIECE, BoardEvent.NEXT_PIECE)) {
+                fire(PROPERTY_NEXT_PIECE, BoardEvent.NEXT_PIECE, myPreview.peek(0));
+            }
+        }
+    }
+
+    /**
+     * Notifies observers that the game ended.
+     */
+    private void fireGameOver() {
+        if (myBatching) {
+            myPending |= PENDING_GAME_OVER;
+        } else {
+            fire(PROPERTY_GAME_OVER, BoardEvent.GAME_OVER, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Returns whether a property change listener or a bus subscriber observes an event,
+     * so that its value is only built when someone receives it.
+     *
+     * @param theProperty the property name.
+     * @param theEvent the bus event.
+     * @return true if the event reaches someone.
+     */
+    private boolean isObserved(final String theProperty, final BoardEvent theEvent) {
+        return myPcs.hasListeners(theProperty) || myEvents.hasSubscribers(theEvent);
+    }
+
+    /**
+     * Sends a value to the property change listeners of a property and the bus
+     * subscribers of an event.
+     *
+     * @param theProperty the property name.
+     * @param theEvent the bus event.
+     * @param theValue the new value.
+     */
+    private void fire(final String theProperty, final BoardEvent theEvent,
+                      final Object theValue) {
+        if (myPcs.hasListeners(theProperty)) {
+            myPcs.firePropertyChange(theProperty, null, theValue);
+        }
+        myEvents.publish(theEvent, theValue);
+    }
+
+    /**
+     * Sends a counter to the property change listeners of a property and the bus
+     * subscribers of an event. The counter is only boxed for property change listeners.
+     *
+     * @param theProperty the property name.
+     * @param theEvent the bus event, one of the counters.
+     * @param theValue the new value.
+     */
+    private void fire(final String theProperty, final BoardEvent theEvent,
+                      final int theValue) {
+        if (myPcs.hasListeners(theProperty)) {
+            myPcs.firePropertyChange(theProperty, null, theValue);
+        }
+        myEvents.publish(theEvent, theValue);
+    }
+
+    /**
+     * Sends the notifications held back by a batch, each once with its final value.
+     * When the batch froze more than one piece the deltas are gone, so delta observers
+     * resynchronize from a full snapshot.
+     */
+    private void firePending() {
+        final int pending = myPending;
+        final int freezes = myBatchFreezes;
+        myPending = 0;
+        myBatchFreezes = 0;
+        if ((pending & PENDING_GAME_OVER) != 0) {
+            fireGameOver();
+        }
+        if ((pending & PENDING_PREVIEW) != 0) {
+            firePreview();
+        }
+        if ((pending & PENDING_PIECE) != 0) {
+            fireCurrentPiece();
+        }
+        if (freezes == 1) {
+            fireBoard();
+        } else if (freezes > 1) {
+            fireSnapshot();
+            fireSync();
+        }
+        if ((pending & PENDING_SCORE) != 0) {
+            fireScore();
+        }
+        if ((pending & PENDING_ROWS) != 0) {
+            fireRows();
+        }
+    }
+
     /**
      * Helper function to test if the piece is in a legal state.
      * <p>
@@ -522,21 +1033,44 @@ public final class Board implements IBoard {
      * - points of the piece exceed the bounds of the board
      * - points of the piece collide with frozen blocks on the board
      * 
-     * @param thePiece MovableTetrisPiece to test.
+     * @param thePiece packed state of the piece to test.
      * @return Returns true if the piece is in a legal state; false otherwise
      */
-    private boolean isPieceLegal(final MovableTetrisPiece thePiece) {
-        boolean result = true;
-        
-        for (final Point p : thePiece.getBoardPoints()) {
-            if (p.x() < 0 || p.x() >= myWidth) {
-                result = false;
-            }
-            if (p.y() < 0) {
-                result = false;
+    private boolean isPieceLegal(final int thePiece) {
+        return myFrozenBlocks.canPlace(PieceState.piece(thePiece),
+                                       PieceState.rotation(thePiece),
+                                       PieceState.x(thePiece), PieceState.y(thePiece));
+    }
+
+    /**
+     * Freezes a movable Tetris piece into the frozen blocks.
+     * 
+     * @param thePiece packed state of the piece to set on the board.
+     */
+    private void addPieceToBoardData(final int thePiece) {
+        final TetrisPiece piece = PieceState.piece(thePiece);
+        final int rotation = PieceState.rotation(thePiece);
+        final int y = PieceState.y(thePiece);
+        if (!myFrozenBlocks.place(piece, rotation, PieceState.x(thePiece), y)
+            && !myGameOver) {
+            myGameOver = true;
+            fireGameOver();
+        }
+        final int bottom = y + piece.getMinY(rotation);
+        final int top = Math.min(y + piece.getMaxY(rotation), myHeight - 1);
+        final int left = PieceState.x(thePiece) + piece.getMinX(rotation);
+        myDeltaCellCount = 0;
+        myDeltaCleared = 0;
+        for (int row = Math.max(bottom, 0); row <= top; row++) {
+            myRowViews[row] = null;
+            for (int bits = piece.getRowMask(rotation, row - bottom); bits != 0;
+                 bits &= bits - 1) {
+                myDeltaCells[myDeltaCellCount++] = BoardDelta.packCell(
+                        left + Integer.numberOfTrailingZeros(bits), row, piece.getBlock());
             }
         }
-        return result && !collision(thePiece);      
+        mySnapshot = null;
+        myVersion++;
     }
 
     /**
@@ -545,47 +1079,47 @@ public final class Board implements IBoard {
      * Allows a single data structure to represent the current piece
      * and the frozen blocks.
      * 
-     * @param theFrozenBlocks Board to set the piece on.
-     * @param thePiece Piece to set on the board.
+     * @param theBoard Board data to set the piece on.
+     * @param thePiece packed state of the piece to set on the board.
      */
-    private void addPieceToBoardData(final List<Block[]> theFrozenBlocks,
-                                     final MovableTetrisPiece thePiece) {
-        for (final Point p : thePiece.getBoardPoints()) {
-            //noinspection LawOfDemeter
-            setPoint(theFrozenBlocks, p, thePiece.getTetrisPiece().getBlock());
+    private void addPieceToList(final List<Block[]> theBoard, final int thePiece) {
+        final Block block = PieceState.piece(thePiece).getBlock();
+        for (final Point p : new MovableTetrisPiece(thePiece).getBoardPoints()) {
+            if (p.x() >= 0 && p.x() < myWidth && p.y() >= 0 && p.y() < theBoard.size()) {
+                theBoard.get(p.y())[p.x()] = block;
+            }
         }
-        myPcs.firePropertyChange(PROPERTY_GAME_BOARD, null, getBoard());
     }
 
     /**
-     * Checks the board for complete rows.
+     * Checks the rows covered by a freshly frozen piece for complete rows.
+     *
+     * @param thePiece packed state of the piece that was just frozen.
      */
-    private void checkRows() {
-        final List<Integer> completeRows = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            boolean complete = true;
-            for (final Block b : row) {
-                if (b == null) {
-                    complete = false;
-                    break;
-                }
-            }
-            if (complete) {
-                completeRows.add(myFrozenBlocks.indexOf(row));
+    private void checkRows(final int thePiece) {
+        final TetrisPiece piece = PieceState.piece(thePiece);
+        final int rotation = PieceState.rotation(thePiece);
+        final int y = PieceState.y(thePiece);
+        final int bottom = Math.max(y + piece.getMinY(rotation), 0);
+        final int top = Math.min(y + piece.getMaxY(rotation), myHeight - 1);
+        int cleared = 0;
+        if (bottom <= top) {
+            final int clearedRows = myFrozenBlocks.clearFullRows(bottom, top);
+            if (clearedRows != 0) {
+                myDeltaClearedFrom = bottom;
+                myDeltaCleared = clearedRows;
+                compactRowViews(bottom, clearedRows);
+                cleared = Integer.bitCount(clearedRows);
             }
         }
-        // loop through list backwards removing items by index
-        if (!completeRows.isEmpty()) {
-            for (int i = completeRows.size() - 1; i >= 0; i--) {
+        if (cleared > 0) {
+            for (int i = 0; i < cleared; i++) {
                 // Increment the cleared rows count
                 myRowsCleared++;
                 // Decrement the counter for the next level
                 myNextLevelCounter--;
                 // Increment the score tracker
                 myScoreTracker++;
-                final Block[] row = myFrozenBlocks.get(completeRows.get(i));
-                myFrozenBlocks.remove(row);
-                myFrozenBlocks.add(new Block[myWidth]);
                 // Check if it's time to move to the next level
                 if (myNextLevelCounter == 0) {
                     myNextLevelCounter = 5;
@@ -604,134 +1138,101 @@ public final class Board implements IBoard {
             }
             // Reset the score tracker
             myScoreTracker = 0;
-            myPcs.firePropertyChange(PROPERTY_SCORE_UPDATE, null, myScore);
-            myPcs.firePropertyChange(PROPERTY_ROW_CLEAR, null, myRowsCleared);
-            myPcs.firePropertyChange(PROPERTY_NEXT_LEVEL_COUNTER, null, myNextLevelCounter);
-            myPcs.firePropertyChange(PROPERTY_LEVEL, null, myCurrentLevel);
+            fireScore();
+            fireRows();
         }
     }
     
     /**
-     * Helper function to copy the board.
-     * 
-     * @return A new copy of the board.
-     */
-    private List<Block[]> getBoard() {
-        final List<Block[]> board = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            board.add(row.clone());
-        }
-        return board;
-    }
-
-    /**
-     * Determines if a point is on the game board.
-     * 
-     * @param theBoard Board to test.
-     * @param thePoint Point to test.
-     * @return True if the point is on the board otherwise false.
-     */
-    private boolean isPointOnBoard(final List<Block[]> theBoard, final Point thePoint) {
-        return thePoint.x() >= 0 && thePoint.x() < myWidth && thePoint.y() >= 0
-               && thePoint.y() < theBoard.size();
-    }
-
-    /**
-     * Sets a block at a board point.
-     * 
-     * @param theBoard Board to set the point on.
-     * @param thePoint Board point.
-     * @param theBlock Block to set at board point.
+     * Removes cleared rows from the rows handed to the next snapshot, the same way
+     * the frozen blocks were compacted. Rows that only moved down keep their arrays.
+     *
+     * @param theFromRow the row the cleared mask starts at.
+     * @param theCleared mask of cleared rows, bit i set when row theFromRow + i was removed.
      */
-    private void setPoint(final List<Block[]> theBoard,
-                          final Point thePoint,
-                          final Block theBlock) {
-        
-        if (isPointOnBoard(theBoard, thePoint)) { 
-            final Block[] row = theBoard.get(thePoint.y());
-            row[thePoint.x()] = theBlock;
-        } else if (!myGameOver) {
-            myGameOver = true;
-            myPcs.firePropertyChange(PROPERTY_GAME_OVER, false, true);
+    private void compactRowViews(final int theFromRow, final int theCleared) {
+        int dst = theFromRow + Integer.numberOfTrailingZeros(theCleared);
+        for (int src = dst + 1; src < myHeight; src++) {
+            final int bit = src - theFromRow;
+            if (bit >= Integer.SIZE || (theCleared & (1 << bit)) == 0) {
+                myRowViews[dst++] = myRowViews[src];
+            }
         }
+        Arrays.fill(myRowViews, dst, myHeight, myEmptyRow);
+        mySnapshot = null;
     }
 
     /**
-     * Returns the block at a specific board point.
+     * Helper function to copy the board.
      * 
-     * @param thePoint the specific Point to check
-     * @return the Block type at point or null if no block exists.
+     * @return A new copy of the board.
      */
-    private Block getPoint(final Point thePoint) {
-        Block b = null;
-        if (isPointOnBoard(myFrozenBlocks, thePoint)) {
-            b = myFrozenBlocks.get(thePoint.y())[thePoint.x()];
-        }
-        return b;
-    }
-
-    /**
-     * Helper function to determine of a movable block has collided with set
-     * blocks.
-     * 
-     * @param theTest movable TetrisPiece to test for collision.
-     * @return Returns true if any of the blocks has collided with a set board
-     *         block.
-     */
-    private boolean collision(final MovableTetrisPiece theTest) {
-        boolean res = false;
-        for (final Point p : theTest.getBoardPoints()) {
-            if (getPoint(p) != null) {
-                res = true;
-            }
+    private List<Block[]> getBoard() {
+        final List<Block[]> board = new ArrayList<>(myHeight);
+        for (int y = 0; y < myHeight; y++) {
+            final Block[] row = new Block[myWidth];
+            myFrozenBlocks.copyRow(y, row);
+            board.add(row);
         }
-        return res;
+        return board;
     }
 
     /**
-     * Gets the next MovableTetrisPiece.
+     * Gets the next movable piece from the preview queue.
      * 
-     * @param theRestart Restart the non random cycle.
-     * @return A new MovableTetrisPiece.
+     * @param theRestart Discard the queued pieces and restart the non random cycle.
+     * @return The packed state of the new piece.
      */
-    private MovableTetrisPiece nextMovablePiece(final boolean theRestart) {
+    private int nextMovablePiece(final boolean theRestart) {
         
-        if (myNextPiece == null || theRestart) {
-            prepareNextMovablePiece();
+        if (theRestart) {
+            myPreview.reset(myPieceSequence == null ? myPieceGenerator
+                                                    : new PieceCycle(myPieceSequence));
         }
         
-        final TetrisPiece next = myNextPiece;
-        
-        int startY = myHeight - 1;
-        if (myNextPiece == TetrisPiece.I) {
-            startY--; 
+        final TetrisPiece next = myPreview.poll();
+        if (!myGameOver) {
+            firePreview();
         }
-        
-        prepareNextMovablePiece();
-        return new MovableTetrisPiece(
-                       next,
-                       new Point((myWidth - myNextPiece.getWidth()) / 2, startY));
+        return PieceState.of(next, Rotation.NONE.ordinal(),
+                             next.getSpawnX(myWidth), next.getSpawnY(myHeight));
     }
+
     
+    // Inner classes
+
     /**
-     * Prepares the Next movable piece for preview.
+     * Deals a non random sequence of TetrisPieces over and over.
      */
-    private void prepareNextMovablePiece() {
-        
-        final boolean share = myNextPiece != null;
-        if (myNonRandomPieces == null || myNonRandomPieces.isEmpty()) {
-            myNextPiece = TetrisPiece.getRandomPiece();
-        } else {
-            mySequenceIndex %= myNonRandomPieces.size();
-            myNextPiece = myNonRandomPieces.get(mySequenceIndex++);
-        }
-        if (share && !myGameOver) {
-            myPcs.firePropertyChange(PROPERTY_NEXT_PIECE, null, myNextPiece);
+    private static final class PieceCycle implements IPieceGenerator {
+
+        /**
+         * The sequence to loop through.
+         */
+        private final TetrisPiece[] myPieces;
+
+        /**
+         * Index of the next piece in the sequence.
+         */
+        private int myIndex;
+
+        /**
+         * Constructs a cycle starting at the first piece of a sequence.
+         *
+         * @param thePieces the sequence, which must not be empty.
+         */
+        private PieceCycle(final TetrisPiece[] thePieces) {
+            super();
+            myPieces = thePieces;
         }
-    }    
 
-    
-    // Inner classes
+        @Override
+        public TetrisPiece next() {
+            final TetrisPiece result = myPieces[myIndex];
+            myIndex = (myIndex + 1) % myPieces.length;
+            return result;
+        }
+    }
 
     /**
      * A class to describe the board data to registered Observers.
@@ -754,8 +1255,8 @@ public final class Board implements IBoard {
             myBoardData.add(new Block[myWidth]);
             myBoardData.add(new Block[myWidth]);
             myBoardData.add(new Block[myWidth]);
-            if (myCurrentPiece != null) {
-                addPieceToBoardData(myBoardData, myCurrentPiece);
+            if (myCurrentPiece != PieceState.NONE) {
+                addPieceToList(myBoardData, myCurrentPiece);
             }
         }
 
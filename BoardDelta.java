@@ -0,0 +1,178 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable description of how the frozen blocks of a Board changed in one step.
+ * <p>
+ * A delta lists the cells that were set when a piece froze and the rows that were
+ * then cleared. Applying a delta means setting its cells first and then removing its
+ * cleared rows, moving every row above a cleared row down by one. The result is the
+ * board at {@link #getVersion()}; a delta applies to the board one version earlier.
+ * Observers that miss a version resynchronize from the next full {@link BoardSnapshot}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class BoardDelta {
+
+    /**
+     * Shift of the row in a packed cell.
+     */
+    private static final int Y_SHIFT = 16;
+
+    /**
+     * Shift of the column in a packed cell.
+     */
+    private static final int X_SHIFT = 8;
+
+    /**
+     * Mask of one field of a packed cell.
+     */
+    private static final int FIELD_MASK = 0xFF;
+
+    /**
+     * Cached Block values, indexed by ordinal.
+     */
+    private static final Block[] BLOCKS = Block.values();
+
+    /**
+     * The board version after this delta.
+     */
+    private final long myVersion;
+
+    /**
+     * Cells set by this delta, packed as row, column and Block ordinal.
+     */
+    private final int[] myCells;
+
+    /**
+     * Rows cleared by this delta, bottom row first, numbered before the clear.
+     */
+    private final int[] myClearedRows;
+
+    /**
+     * Constructs a delta that takes ownership of its arrays.
+     *
+     * @param theVersion the board version after this delta.
+     * @param theCells the packed cells, see {@link #packCell(int, int, Block)}.
+     * @param theClearedRows the cleared rows, bottom row first.
+     */
+    BoardDelta(final long theVersion, final int[] theCells, final int[] theClearedRows) {
+        super();
+        myVersion = theVersion;
+        myCells = theCells;
+        myClearedRows = theClearedRows;
+    }
+
+    /**
+     * Packs a cell for the constructor.
+     *
+     * @param theX the column of the cell.
+     * @param theY the row of the cell.
+     * @param theBlock the Block set at the cell.
+     * @return the packed cell.
+     */
+    static int packCell(final int theX, final int theY, final Block theBlock) {
+        return theY << Y_SHIFT | theX << X_SHIFT | theBlock.ordinal();
+    }
+
+    /**
+     * Returns the board version after this delta.
+     *
+     * @return the board version.
+     */
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Returns the number of cells set by this delta.
+     *
+     * @return the number of cells.
+     */
+    public int getCellCount() {
+        return myCells.length;
+    }
+
+    /**
+     * Returns the column of a set cell.
+     *
+     * @param theIndex the index of the cell.
+     * @return the column of the cell.
+     */
+    public int getCellX(final int theIndex) {
+        return myCells[theIndex] >>> X_SHIFT & FIELD_MASK;
+    }
+
+    /**
+     * Returns the row of a set cell, numbered before any rows were cleared.
+     *
+     * @param theIndex the index of the cell.
+     * @return the row of the cell.
+     */
+    public int getCellY(final int theIndex) {
+        return myCells[theIndex] >>> Y_SHIFT;
+    }
+
+    /**
+     * Returns the Block of a set cell.
+     *
+     * @param theIndex the index of the cell.
+     * @return the Block set at the cell.
+     */
+    public Block getCellBlock(final int theIndex) {
+        return BLOCKS[myCells[theIndex] & FIELD_MASK];
+    }
+
+    /**
+     * Returns the number of rows cleared by this delta.
+     *
+     * @return the number of cleared rows.
+     */
+    public int getClearedRowCount() {
+        return myClearedRows.length;
+    }
+
+    /**
+     * Returns a cleared row, numbered before the clear. Cleared rows are listed
+     * bottom row first.
+     *
+     * @param theIndex the index of the cleared row.
+     * @return the row that was cleared.
+     */
+    public int getClearedRow(final int theIndex) {
+        return myClearedRows[theIndex];
+    }
+
+    /**
+     * Applies this delta to rows of Blocks held by an observer. Arrays of cleared rows
+     * are emptied and reused as the new top rows.
+     *
+     * @param theRows the rows, bottom row first, at the version before this delta.
+     */
+    public void applyTo(final Block[][] theRows) {
+        for (int i = 0; i < myCells.length; i++) {
+            theRows[getCellY(i)][getCellX(i)] = getCellBlock(i);
+        }
+        for (int i = myClearedRows.length - 1; i >= 0; i--) {
+            final int row = myClearedRows[i];
+            final Block[] removed = theRows[row];
+            System.arraycopy(theRows, row + 1, theRows, row, theRows.length - row - 1);
+            Arrays.fill(removed, null);
+            theRows[theRows.length - 1] = removed;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoardDelta(v" + myVersion + ", " + myCells.length + " cells, "
+               + myClearedRows.length + " rows cleared)";
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * The kinds of notification a Board publishes on its {@link BoardEventBus}.
+ * <p>
+ * Counters are published as primitive ints to {@link java.util.function.IntConsumer}
+ * subscribers; every other event carries a value of its {@link #getType() type}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public enum BoardEvent {
+
+    /**
+     * The frozen blocks, as a {@link BoardSnapshot}.
+     */
+    GAME_BOARD(BoardSnapshot.class),
+
+    /**
+     * The cells set and rows cleared by one frozen piece, as a {@link BoardDelta}.
+     */
+    BOARD_DELTA(BoardDelta.class),
+
+    /**
+     * A periodic full {@link BoardSnapshot} that lets delta subscribers resynchronize.
+     */
+    BOARD_SYNC(BoardSnapshot.class),
+
+    /**
+     * The current piece, as an {@link IMovableTetrisPiece}.
+     */
+    CURRENT_PIECE(IMovableTetrisPiece.class),
+
+    /**
+     * The next piece, as a {@link TetrisPiece}.
+     */
+    NEXT_PIECE(TetrisPiece.class),
+
+    /**
+     * The preview after it advanced, as an immutable {@link IPieceQueue} copy that does
+     * not follow later moves.
+     */
+    PREVIEW(IPieceQueue.class),
+
+    /**
+     * The game state, as a {@link Boolean}: true when the game ended, false when a new
+     * game started.
+     */
+    GAME_OVER(Boolean.class),
+
+    /**
+     * The score.
+     */
+    SCORE(null),
+
+    /**
+     * The number of rows cleared.
+     */
+    LINES(null),
+
+    /**
+     * The number of rows left to clear before the next level.
+     */
+    NEXT_LEVEL_COUNTER(null),
+
+    /**
+     * The level.
+     */
+    LEVEL(null);
+
+    /**
+     * The type of the values of this event, null for int events.
+     */
+    private final Class<?> myType;
+
+    /**
+     * Constructs an event.
+     *
+     * @param theType the type of the values, null for int events.
+     */
+    BoardEvent(final Class<?> theType) {
+        myType = theType;
+    }
+
+    /**
+     * Returns the type of the values of this event.
+     *
+     * @return the value type, or int.class for int events.
+     */
+    public Class<?> getType() {
+        final Class<?> result;
+        if (myType == null) {
+            result = int.class;
+        } else {
+            result = myType;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether this event is published as a primitive int.
+     *
+     * @return true for the counters.
+     */
+    public boolean isInt() {
+        return myType == null;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Delivers the notifications of a Board to subscribers registered per
+ * {@link BoardEvent}.
+ * <p>
+ * A subscriber only receives the events it registered for. Counters are delivered to
+ * {@link IntConsumer}s without boxing, and a Board skips building the value of an event
+ * nobody subscribed to, see {@link #hasSubscribers(BoardEvent)}.
+ * <p>
+ * Subscriptions are copied on write: publishing reads the current subscriber arrays
+ * without locking, and a subscriber may subscribe or unsubscribe while an event is
+ * delivered; the change applies from the next event.
+ * <p>
+ * Listeners run on the thread that drives the Board unless they subscribe with a
+ * {@link DeliveryMode} and an executor, in which case the Board only queues the value
+ * for them, see {@link AsyncSubscriber}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class BoardEventBus {
+
+    /**
+     * Subscribers of an event nobody subscribed to.
+     */
+    private static final Object[] NONE = {};
+
+    /**
+     * Subscribers of every event, IntConsumers for int events and Consumers otherwise.
+     * Replaced, never modified, when a subscription changes.
+     */
+    private volatile EnumMap<BoardEvent, Object[]> mySubscribers;
+
+    /**
+     * Constructs a bus without subscribers.
+     */
+    public BoardEventBus() {
+        super();
+        final EnumMap<BoardEvent, Object[]> subscribers = new EnumMap<>(BoardEvent.class);
+        for (final BoardEvent event : BoardEvent.values()) {
+            subscribers.put(event, NONE);
+        }
+        mySubscribers = subscribers;
+    }
+
+    /**
+     * Subscribes to an int event.
+     *
+     * @param theEvent the event, one of the counters.
+     * @param theListener receives the value of every event of that kind.
+     * @throws IllegalArgumentException if theEvent is not an int event.
+     */
+    public void subscribe(final BoardEvent theEvent, final IntConsumer theListener) {
+        if (!theEvent.isInt()) {
+            throw new IllegalArgumentException(theEvent + " carries a "
+                                               + theEvent.getType().getSimpleName());
+        }
+        add(theEvent, theListener);
+    }
+
+    /**
+     * Subscribes to an event that carries a value.
+     *
+     * @param <T> the type the listener accepts.
+     * @param theEvent the event.
+     * @param theType the type the listener accepts, the event type or a supertype.
+     * @param theListener receives the value of every event of that kind.
+     * @throws IllegalArgumentException if theEvent is an int event or its values are not
+     *         of theType.
+     */
+    public <T> void subscribe(final BoardEvent theEvent, final Class<T> theType,
+                              final Consumer<? super T> theListener) {
+        if (theEvent.isInt() || !theType.isAssignableFrom(theEvent.getType())) {
+            throw new IllegalArgumentException(theEvent + " carries a "
+                                               + theEvent.getType().getSimpleName()
+                                               + ", not a " + theType.getSimpleName());
+        }
+        add(theEvent, theListener);
+    }
+
+    /**
+     * Subscribes to an int event with a listener that runs on an executor, see
+     * {@link AsyncSubscriber}.
+     *
+     * @param theEvent the event, one of the counters.
+     * @param theListener receives the delivered values on theExecutor.
+     * @param theMode whether values are conflated or all delivered.
+     * @param theExecutor runs the listener; must not run tasks on the game thread when
+     *        theMode is LOSSLESS.
+     * @return the subscription, which counts merged and dropped values and
+     *         unsubscribes when closed.
+     * @throws IllegalArgumentException if theEvent is not an int event.
+     */
+    public AsyncSubscriber subscribe(final BoardEvent theEvent, final IntConsumer theListener,
+                                     final DeliveryMode theMode, final Executor theExecutor) {
+        if (!theEvent.isInt()) {
+            throw new IllegalArgumentException(theEvent + " carries a "
+                                               + theEvent.getType().getSimpleName());
+        }
+        final AsyncSubscriber result =
+            new AsyncSubscriber(this, theEvent, Objects.requireNonNull(theListener), null,
+                                Objects.requireNonNull(theMode),
+                                Objects.requireNonNull(theExecutor));
+        add(theEvent, result.getHandle());
+        return result;
+    }
+
+    /**
+     * Subscribes to an event that carries a value with a listener that runs on an
+     * executor, see {@link AsyncSubscriber}.
+     *
+     * @param <T> the type the listener accepts.
+     * @param theEvent the event.
+     * @param theType the type the listener accepts, the event type or a supertype.
+     * @param theListener receives the delivered values on theExecutor.
+     * @param theMode whether values are conflated or all delivered.
+     * @param theExecutor runs the listener; must not run tasks on the game thread when
+     *        theMode is LOSSLESS.
+     * @return the subscription, which counts merged and dropped values and
+     *         unsubscribes when closed.
+     * @throws IllegalArgumentException if theEvent is an int event or its values are not
+     *         of theType.
+     */
+    public <T> AsyncSubscriber subscribe(final BoardEvent theEvent, final Class<T> theType,
+                                         final Consumer<? super T> theListener,
+                                         final DeliveryMode theMode,
+                                         final Executor theExecutor) {
+        if (theEvent.isInt() || !theType.isAssignableFrom(theEvent.getType())) {
+            throw new IllegalArgumentException(theEvent + " carries a "
+                                               + theEvent.getType().getSimpleName()
+                                               + ", not a " + theType.getSimpleName());
+        }
+        final AsyncSubscriber result =
+            new AsyncSubscriber(this, theEvent, null, Objects.requireNonNull(theListener),
+                                Objects.requireNonNull(theMode),
+                                Objects.requireNonNull(theExecutor));
+        add(theEvent, result.getHandle());
+        return result;
+    }
+
+    /**
+     * Removes a subscription.
+     *
+     * @param theEvent the event.
+     * @param theListener the listener passed to subscribe.
+     * @return true if the listener was subscribed to theEvent.
+     */
+    public synchronized boolean unsubscribe(final BoardEvent theEvent,
+                                            final Object theListener) {
+        final Object[] old = mySubscribers.get(theEvent);
+        int index = -1;
+        for (int i = 0; i < old.length && index < 0; i++) {
+            if (old[i] == theListener) {
+                index = i;
+            }
+        }
+        if (index >= 0) {
+            final Object[] subscribers;
+            if (old.length == 1) {
+                subscribers = NONE;
+            } else {
+                subscribers = new Object[old.length - 1];
+                System.arraycopy(old, 0, subscribers, 0, index);
+                System.arraycopy(old, index + 1, subscribers, index, old.length - index - 1);
+            }
+            replace(theEvent, subscribers);
+        }
+        return index >= 0;
+    }
+
+    /**
+     * Returns whether anyone subscribed to an event.
+     *
+     * @param theEvent the event.
+     * @return true if publishing theEvent reaches a subscriber.
+     */
+    public boolean hasSubscribers(final BoardEvent theEvent) {
+        return mySubscribers.get(theEvent).length != 0;
+    }
+
+    /**
+     * Delivers an int event to its subscribers.
+     *
+     * @param theEvent the event, one of the counters.
+     * @param theValue the value.
+     */
+    void publish(final BoardEvent theEvent, final int theValue) {
+        for (final Object subscriber : mySubscribers.get(theEvent)) {
+            ((IntConsumer) subscriber).accept(theValue);
+        }
+    }
+
+    /**
+     * Delivers an event that carries a value to its subscribers.
+     *
+     * @param theEvent the event.
+     * @param theValue the value, of the event type.
+     */
+    @SuppressWarnings("unchecked")
+    void publish(final BoardEvent theEvent, final Object theValue) {
+        for (final Object subscriber : mySubscribers.get(theEvent)) {
+            ((Consumer<Object>) subscriber).accept(theValue);
+        }
+    }
+
+    /**
+     * Appends a subscriber.
+     *
+     * @param theEvent the event.
+     * @param theListener the subscriber.
+     */
+    private synchronized void add(final BoardEvent theEvent, final Object theListener) {
+        Objects.requireNonNull(theListener);
+        final Object[] old = mySubscribers.get(theEvent);
+        final Object[] subscribers = Arrays.copyOf(old, old.length + 1);
+        subscribers[old.length] = theListener;
+        replace(theEvent, subscribers);
+    }
+
+    /**
+     * Publishes a new subscriber array for an event.
+     *
+     * @param theEvent the event.
+     * @param theSubscribers the subscribers.
+     */
+    private void replace(final BoardEvent theEvent, final Object[] theSubscribers) {
+        final EnumMap<BoardEvent, Object[]> subscribers = new EnumMap<>(mySubscribers);
+        subscribers.put(theEvent, theSubscribers);
+        mySubscribers = subscribers;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("BoardEventBus(");
+        String separator = "";
+        for (final Map.Entry<BoardEvent, Object[]> entry : mySubscribers.entrySet()) {
+            if (entry.getValue().length != 0) {
+                result.append(separator).append(entry.getKey()).append('=')
+                      .append(entry.getValue().length);
+                separator = ", ";
+            }
+        }
+        return result.append(')').toString();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, versioned picture of the frozen blocks of a Board.
+ * <p>
+ * Rows are shared between versions: when a piece freezes only the rows it touched are
+ * rebuilt, and rows that merely moved down after a line clear are reused as they are.
+ * Row arrays are never modified once published, so observers can keep a snapshot for
+ * as long as they like and compare rows of two versions by identity.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class BoardSnapshot {
+
+    /**
+     * The version of the board this snapshot was taken from.
+     */
+    private final long myVersion;
+
+    /**
+     * Width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * Rows of Blocks, bottom row first, null for empty cells.
+     */
+    private final Block[][] myRows;
+
+    /**
+     * Constructs a snapshot that takes ownership of its row arrays.
+     *
+     * @param theVersion the board version.
+     * @param theWidth the width of the board.
+     * @param theRows the rows, which must never be modified afterwards.
+     */
+    BoardSnapshot(final long theVersion, final int theWidth, final Block[][] theRows) {
+        super();
+        myVersion = theVersion;
+        myWidth = theWidth;
+        myRows = theRows;
+    }
+
+    /**
+     * Returns an empty snapshot of a board.
+     *
+     * @param theWidth the width of the board.
+     * @param theHeight the height of the board.
+     * @return an empty snapshot with version 0.
+     */
+    public static BoardSnapshot empty(final int theWidth, final int theHeight) {
+        final Block[][] rows = new Block[theHeight][];
+        Arrays.fill(rows, new Block[theWidth]);
+        return new BoardSnapshot(0, theWidth, rows);
+    }
+
+    /**
+     * Returns the version of the board this snapshot was taken from.
+     * Later snapshots of the same board have larger versions.
+     *
+     * @return the board version.
+     */
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Get's the width of the board.
+     *
+     * @return the board's width.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Get's the height of the board.
+     *
+     * @return the board's height.
+     */
+    public int getHeight() {
+        return myRows.length;
+    }
+
+    /**
+     * Returns the Block stored at a cell.
+     *
+     * @param theX the column of the cell.
+     * @param theY the row of the cell.
+     * @return the Block at the cell or null if the cell is empty.
+     */
+    public Block getBlock(final int theX, final int theY) {
+        return myRows[theY][theX];
+    }
+
+    /**
+     * Returns whether a row of this snapshot is the very same row as in another
+     * snapshot, in which case it has not changed between the two.
+     *
+     * @param theOther the snapshot to compare with.
+     * @param theY the row to compare.
+     * @return true if both snapshots share the row.
+     */
+    public boolean sharesRow(final BoardSnapshot theOther, final int theY) {
+        return theY < theOther.myRows.length && myRows[theY] == theOther.myRows[theY];
+    }
+
+    /**
+     * Copies the snapshot into a new list of rows, bottom row first.
+     *
+     * @return a mutable copy of the rows.
+     */
+    public List<Block[]> toList() {
+        final List<Block[]> board = new ArrayList<>(myRows.length);
+        for (final Block[] row : myRows) {
+            board.add(row.clone());
+        }
+        return board;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardSnapshot(v" + myVersion + ", " + myWidth + 'x' + myRows.length + ')';
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * How an {@link AsyncSubscriber} hands the events of a Board to its listener.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public enum DeliveryMode {
+
+    /**
+     * Only the latest value is kept; a value published before the listener received
+     * the previous one replaces it. Suits renderers, which only draw the current state.
+     */
+    CONFLATING,
+
+    /**
+     * Every value is delivered in order. When the queue is full the game thread waits
+     * for the listener to catch up. Suits recorders, which need every event.
+     */
+    LOSSLESS
+}
@@ -0,0 +1,188 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import model.BitBoard;
+import model.IBitBoard;
+import model.TetrisPiece;
+import model.Zobrist;
+
+/**
+ * Scores the boards that result from candidate placements.
+ * <p>
+ * Boards are scored with a weighted sum of aggregate column height, cleared lines,
+ * holes and bumpiness, read from the running totals of a scratch copy of the board.
+ * Each candidate is placed on the scratch board and removed again; only candidates
+ * that clear lines are scored on a second copy.
+ * <p>
+ * An evaluator given a {@link TranspositionTable} looks every candidate up in it by the
+ * hash of the board it leaves before scoring it, and reuses the stored score of a hit.
+ * Scores are always rounded to floats, the precision the table keeps, so a hit returns
+ * exactly the score a recomputation would, and neither the table nor how many threads
+ * share it changes any result. An evaluator is not thread safe.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+final class Evaluator {
+
+    /**
+     * Weight of the number of cleared lines.
+     */
+    static final double LINES_WEIGHT = 0.760666;
+
+    /**
+     * Weight of the sum of the column heights.
+     */
+    private static final double HEIGHT_WEIGHT = -0.510066;
+
+    /**
+     * Weight of the number of holes.
+     */
+    private static final double HOLES_WEIGHT = -0.35663;
+
+    /**
+     * Weight of the sum of height differences between neighbouring columns.
+     */
+    private static final double BUMPINESS_WEIGHT = -0.184483;
+
+    /**
+     * Scores of the candidates already seen, or null.
+     */
+    private final TranspositionTable myTable;
+
+    /**
+     * Separates the table keys of boards of different sizes.
+     */
+    private long mySalt;
+
+    /**
+     * Scratch board the candidate placements are tried on.
+     */
+    private BitBoard myScratch;
+
+    /**
+     * Scratch board candidates that clear lines are scored on.
+     */
+    private BitBoard myCleared;
+
+    /**
+     * Number of lines cleared by the last candidate.
+     */
+    private int myLastLines;
+
+    /**
+     * Constructs an evaluator without a table.
+     */
+    Evaluator() {
+        this(null);
+    }
+
+    /**
+     * Constructs an evaluator that looks candidates up in a transposition table.
+     *
+     * @param theTable the table of the scores of the candidates, or null for none.
+     */
+    Evaluator(final TranspositionTable theTable) {
+        super();
+        myTable = theTable;
+    }
+
+    /**
+     * Makes a board the one candidates are placed on.
+     *
+     * @param theBoard the frozen blocks before the candidate piece freezes.
+     */
+    void reset(final IBitBoard theBoard) {
+        if (myScratch == null || myScratch.getWidth() != theBoard.getWidth()
+            || myScratch.getHeight() != theBoard.getHeight()) {
+            myScratch = new BitBoard(theBoard.getWidth(), theBoard.getHeight());
+            myCleared = new BitBoard(theBoard.getWidth(), theBoard.getHeight());
+            mySalt = Zobrist.mix((long) theBoard.getWidth() << Integer.SIZE
+                                 | theBoard.getHeight());
+        }
+        theBoard.copyTo(myScratch);
+    }
+
+    /**
+     * Scores the board that results from freezing a piece on the board given to
+     * {@link #reset}, which is left unchanged.
+     *
+     * @param thePiece the piece.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position.
+     * @param theY the landing y position.
+     * @return the score, higher is better.
+     */
+    double evaluate(final TetrisPiece thePiece, final int theRotation,
+                    final int theX, final int theY) {
+        myScratch.place(thePiece, theRotation, theX, theY);
+        final int bottom = Math.max(theY + thePiece.getMinY(theRotation), 0);
+        final int top = Math.min(theY + thePiece.getMaxY(theRotation), myScratch.getHeight() - 1);
+        myLastLines = 0;
+        for (int y = bottom; y <= top; y++) {
+            if (myScratch.isRowFull(y)) {
+                myLastLines++;
+            }
+        }
+        final long key = myScratch.getHash() ^ mySalt;
+        final double score;
+        if (myTable == null) {
+            score = (float) score(bottom, top);
+        } else {
+            final long entry = myTable.probe(key);
+            if (entry == TranspositionTable.MISS) {
+                score = (float) score(bottom, top);
+                myTable.store(key, score);
+            } else {
+                score = TranspositionTable.score(entry);
+            }
+        }
+        myScratch.remove(thePiece, theRotation, theX, theY);
+        return score;
+    }
+
+    /**
+     * Scores the candidate placed on the scratch board.
+     *
+     * @param theBottom the lowest row the candidate covers.
+     * @param theTop the highest row the candidate covers.
+     * @return the score, higher is better.
+     */
+    private double score(final int theBottom, final int theTop) {
+        final double result;
+        if (myLastLines > 0) {
+            myScratch.copyTo(myCleared);
+            myCleared.clearFullRows(theBottom, theTop);
+            result = score(myCleared, myLastLines);
+        } else {
+            result = score(myScratch, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of lines the last evaluated candidate cleared.
+     *
+     * @return the number of cleared lines.
+     */
+    int getLastLines() {
+        return myLastLines;
+    }
+
+    /**
+     * Scores a board from its running totals.
+     *
+     * @param theBoard the board after the piece froze and lines cleared.
+     * @param theLines the number of cleared lines.
+     * @return the score, higher is better.
+     */
+    private static double score(final IBitBoard theBoard, final int theLines) {
+        return HEIGHT_WEIGHT * theBoard.getAggregateHeight() + LINES_WEIGHT * theLines
+               + HOLES_WEIGHT * theBoard.getHoles() + BUMPINESS_WEIGHT * theBoard.getBumpiness();
+    }
+}
@@ -1,4 +1,5 @@
 package view;
+import ai.BeamSearchPolicy;
 import com.formdev.flatlaf.FlatDarculaLaf;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -9,6 +10,9 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
@@ -16,10 +20,14 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.UIManager;
+import model.BitBoard;
 import model.Board;
+import model.IBitBoard;
 import model.IBoard;
+import model.IPieceQueue;
 
 /**
  * Created a GUI class for interactive user interactions. KeyListener interface is
@@ -65,6 +73,14 @@ public class GUI extends KeyAdapter implements KeyListener {
      * A string that says the text "Grid on" to display the grid.
      */
     private static final String GRID = "Grid on";
+    /**
+     * A string that says the text "Demo" to start the demo mode.
+     */
+    private static final String DEMO = "Demo";
+    /**
+     * This is the delay between two pieces played in demo mode, in milliseconds.
+     */
+    private static final int DEMO_RATE = 250;
     /**
      * This is the primary model object implementing the IBoard interface.
      */
@@ -77,6 +93,31 @@ public class GUI extends KeyAdapter implements KeyListener {
      * This is a Timer to control the game ticks.
      */
     private final Timer myTimer;
+    /**
+     * This is a Timer that plays a piece per tick in demo mode.
+     */
+    private final Timer myDemoTimer;
+    /**
+     * The policy that plays in demo mode.
+     */
+    private final BeamSearchPolicy myDemoPolicy =
+            new BeamSearchPolicy(ForkJoinPool.commonPool());
+    /**
+     * The thread the demo searches run on, so the event dispatch thread keeps painting.
+     */
+    private final ExecutorService myDemoWorker = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Tetris demo");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Copy of the frozen blocks the running demo search reads.
+     */
+    private BitBoard myDemoBlocks;
+    /**
+     * Whether a demo search is running.
+     */
+    private boolean myDemoSearching;
 
     /**
      * Boolean status whether the game is going on or not.
@@ -98,6 +139,11 @@ public class GUI extends KeyAdapter implements KeyListener {
         }
         final ActionListener tickListener = e -> myBoard.step();
         myTimer = new Timer(TICK_RATE, tickListener);
+        myDemoTimer = new Timer(DEMO_RATE, e -> {
+            if (myTimer.isRunning() && !myBoard.isGameOver() && !myDemoSearching) {
+                startDemoSearch();
+            }
+        });
 
         final int frameWidth = 500;
         final int frameHeight = 560;
@@ -110,8 +156,8 @@ public class GUI extends KeyAdapter implements KeyListener {
         frame.setLayout(new BorderLayout());
         frame.setResizable(false);
 
-        final MainCanvas panelLeft = new MainCanvas();
-        myBoard.addPropertyChangeListener(panelLeft);
+        final MainCanvas panelLeft = new MainCanvas(myBoard.getHeight());
+        panelLeft.subscribe(myBoard.getEvents());
 
         panelLeft.setPreferredSize(new Dimension(HALF_FRAME, contentHeight));
         frame.add(panelLeft, BorderLayout.WEST);
@@ -125,11 +171,11 @@ public class GUI extends KeyAdapter implements KeyListener {
         frame.add(panelRight, BorderLayout.EAST);
 
         final NextTetrisCanvas nextTetris = new NextTetrisCanvas();
-        myBoard.addPropertyChangeListener(nextTetris);
+        nextTetris.subscribe(myBoard.getEvents());
         panelRight.add(nextTetris, boxLayout);
 
         final ScoreCanvas scorePanel = new ScoreCanvas(myTimer);
-        myBoard.addPropertyChangeListener(scorePanel);
+        scorePanel.subscribe(myBoard.getEvents());
         panelRight.add(scorePanel, boxLayout);
 
 
@@ -160,6 +206,25 @@ public class GUI extends KeyAdapter implements KeyListener {
         });
         menuFile.add(menuFileItemNewGame);
 
+        final JMenuItem menuFileItemDemo = new JMenuItem(DEMO);
+        menuFileItemDemo.addActionListener(e -> {
+            if (myDemoTimer.isRunning()) {
+                myDemoTimer.stop();
+                menuFileItemDemo.setText(DEMO);
+            } else {
+                if (myGameOver) {
+                    myGameOver = false;
+                    menuFileItemNewGame.setText("End game");
+                    myBoard.newGame();
+                    myTimer.start();
+                    panelLeft.removeEndMsg();
+                }
+                myDemoTimer.start();
+                menuFileItemDemo.setText("Stop demo");
+            }
+        });
+        menuFile.add(menuFileItemDemo);
+
         final JMenuItem menuFileItemExit = new JMenuItem("Exit");
         menuFileItemExit.addActionListener(e -> System.exit(0));
         menuFile.add(menuFileItemExit);
@@ -339,6 +404,49 @@ public class GUI extends KeyAdapter implements KeyListener {
                                          Grid On/Off: G/g.""";
     }
 
+    /**
+     * Copies the position and searches the next demo move on the demo thread. Runs on
+     * the event dispatch thread.
+     */
+    private void startDemoSearch() {
+        final IBitBoard frozen = myBoard.getFrozenBlocks();
+        if (myDemoBlocks == null || myDemoBlocks.getWidth() != frozen.getWidth()
+            || myDemoBlocks.getHeight() != frozen.getHeight()) {
+            myDemoBlocks = new BitBoard(frozen.getWidth(), frozen.getHeight());
+        }
+        frozen.copyTo(myDemoBlocks);
+        final int piece = myBoard.getCurrentPiece();
+        final long hash = frozen.getHash();
+        final IPieceQueue preview = myBoard.getPreview().snapshot();
+        myDemoSearching = true;
+        myDemoWorker.execute(() -> {
+            int[] path = null;
+            try {
+                path = myDemoPolicy.search(myDemoBlocks, piece, preview);
+            } finally {
+                final int[] move = path;
+                SwingUtilities.invokeLater(() -> finishDemoSearch(piece, hash, move));
+            }
+        });
+    }
+
+    /**
+     * Plays a demo move unless the position changed while it was searched. Runs on the
+     * event dispatch thread.
+     *
+     * @param thePiece the current piece the search started from.
+     * @param theHash the hash of the frozen blocks the search started from.
+     * @param thePath the inputs of the move, or null if the search failed.
+     */
+    private void finishDemoSearch(final int thePiece, final long theHash, final int[] thePath) {
+        myDemoSearching = false;
+        if (thePath != null && myDemoTimer.isRunning() && myTimer.isRunning()
+            && !myBoard.isGameOver() && myBoard.getCurrentPiece() == thePiece
+            && myBoard.getFrozenBlocks().getHash() == theHash) {
+            myBoard.apply(thePath, 0, thePath.length);
+        }
+    }
+
     /**
      * A String method that returns the scoring of the Tetris game.
      *
@@ -0,0 +1,78 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import model.IBitBoard;
+import model.IBoard;
+import model.PieceState;
+import model.search.MoveGenerator;
+
+/**
+ * A policy that tries every placement the current piece can reach, including tucks
+ * and spins, and keeps the placement whose resulting board scores best.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class GreedyPolicy implements IPolicy {
+
+    /**
+     * Scorer of the candidate placements.
+     */
+    private final Evaluator myEvaluator;
+
+    /**
+     * Generator of the candidate placements.
+     */
+    private MoveGenerator myMoves;
+
+    /**
+     * Constructs a greedy policy without a transposition table.
+     */
+    public GreedyPolicy() {
+        this(null);
+    }
+
+    /**
+     * Constructs a greedy policy that looks its candidates up in a transposition table.
+     *
+     * @param theTable the table, which may be shared with other policies, or null for
+     *        none.
+     */
+    public GreedyPolicy(final TranspositionTable theTable) {
+        super();
+        myEvaluator = new Evaluator(theTable);
+    }
+
+    @Override
+    public void play(final IBoard theBoard) {
+        final IBitBoard frozen = theBoard.getFrozenBlocks();
+        if (myMoves == null || myMoves.getWidth() != frozen.getWidth()
+            || myMoves.getHeight() != frozen.getHeight()) {
+            myMoves = new MoveGenerator(frozen.getWidth(), frozen.getHeight());
+        }
+        final int count = myMoves.generate(frozen, theBoard.getCurrentPiece());
+        myEvaluator.reset(frozen);
+        double best = Double.NEGATIVE_INFINITY;
+        int bestPlacement = -1;
+        for (int i = 0; i < count; i++) {
+            final int state = myMoves.getPlacement(i);
+            final double score = myEvaluator.evaluate(PieceState.piece(state),
+                                                      PieceState.rotation(state),
+                                                      PieceState.x(state), PieceState.y(state));
+            if (score > best) {
+                best = score;
+                bestPlacement = i;
+            }
+        }
+        if (bestPlacement < 0) {
+            theBoard.drop();
+        } else {
+            Moves.follow(theBoard, myMoves.getPath(bestPlacement));
+        }
+    }
+}
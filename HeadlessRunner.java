@@ -0,0 +1,376 @@
+package edu.uw.tcss.app;
+
+import ai.BeamSearchPolicy;
+import ai.GreedyPolicy;
+import ai.IPolicy;
+import ai.RandomPolicy;
+import ai.TranspositionTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.BitBoard;
+import model.Board;
+import model.IBoard;
+import model.PieceGenerator;
+
+/**
+ * Plays complete games without a GUI and reports throughput and results.
+ * <p>
+ * Options:
+ * <pre>
+ * --headless          run headless (required to get here from SandBox)
+ * --games N           number of games to play (default 100)
+ * --threads T         worker threads for games and for beam search (default: every core)
+ * --seed S            seed of the first game; game i uses S + i (default: time based)
+ * --policy P          random, greedy or beam (default greedy)
+ * --randomizer R      uniform, bag or history (default uniform)
+ * --max-pieces M      pieces after which a game is stopped (default 10000)
+ * --width W           board width, at most 32 (default 10)
+ * --height H          board height, at most 64 (default 20)
+ * --cache-mb C        megabytes of transposition table shared by the games, 0 for
+ *                     none (default 16)
+ * </pre>
+ * No AWT or Swing classes are loaded. If an option is bad the process exits with
+ * status {@value #EXIT_USAGE}; if a game fails, its error is logged, no report is made
+ * and the process exits with status {@value #EXIT_FAILURE}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class HeadlessRunner {
+
+    /**
+     * The command line flag selecting headless mode.
+     */
+    public static final String HEADLESS = "--headless";
+
+    /**
+     * Exit status when a game failed or the run was interrupted.
+     */
+    public static final int EXIT_FAILURE = 1;
+
+    /**
+     * Exit status for a bad option.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    /**
+     * A logger object to report results with.
+     */
+    private static final Logger LOGGER = Logger.getLogger(HeadlessRunner.class.getName());
+
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Percentiles reported for each distribution.
+     */
+    private static final int[] PERCENTILES = {50, 90, 99};
+
+    /**
+     * Names of the policies games can be played with.
+     */
+    private static final List<String> POLICIES = List.of("random", "greedy", "beam");
+
+    /**
+     * Number of bytes in a megabyte.
+     */
+    private static final long BYTES_PER_MB = 1L << 20;
+
+    /**
+     * Number of games to play.
+     */
+    private int myGames = 100;
+
+    /**
+     * Number of worker threads.
+     */
+    private int myThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Seed of the first game.
+     */
+    private long mySeed = System.nanoTime();
+
+    /**
+     * Name of the policy to play with.
+     */
+    private String myPolicy = "greedy";
+
+    /**
+     * The strategy pieces are dealt with.
+     */
+    private PieceGenerator.Strategy myRandomizer = PieceGenerator.Strategy.UNIFORM;
+
+    /**
+     * Pieces after which a game is stopped.
+     */
+    private int myMaxPieces = 10_000;
+
+    /**
+     * Board width.
+     */
+    private int myWidth = 10;
+
+    /**
+     * Board height.
+     */
+    private int myHeight = 20;
+
+    /**
+     * Megabytes of transposition table, 0 for none.
+     */
+    private int myCacheMegabytes = 16;
+
+    /**
+     * The pool beam search policies expand boards on.
+     */
+    private ForkJoinPool mySearchPool;
+
+    /**
+     * The transposition table shared by every game, or null.
+     */
+    private TranspositionTable myTable;
+
+    private HeadlessRunner() {
+        super();
+    }
+
+    /**
+     * Parses the command line, plays the games and logs a report. Exits with a non-zero
+     * status if an option is bad or a game failed.
+     *
+     * @param theArgs the command line arguments.
+     */
+    public static void main(final String[] theArgs) {
+        final HeadlessRunner runner = new HeadlessRunner();
+        int status = 0;
+        try {
+            runner.parse(theArgs);
+            runner.run();
+        } catch (final IllegalArgumentException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage());
+            status = EXIT_USAGE;
+        } catch (final ExecutionException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage(), e.getCause());
+            status = EXIT_FAILURE;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Interrupted");
+            status = EXIT_FAILURE;
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Reads the options from the command line.
+     *
+     * @param theArgs the command line arguments.
+     * @throws IllegalArgumentException for an unknown option or a bad value.
+     */
+    private void parse(final String[] theArgs) {
+        for (int i = 0; i < theArgs.length; i++) {
+            final String option = theArgs[i];
+            if (!HEADLESS.equals(option)) {
+                if (i + 1 == theArgs.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                final String value = theArgs[++i];
+                switch (option) {
+                    case "--games" -> myGames = positive(option, value);
+                    case "--threads" -> myThreads = positive(option, value);
+                    case "--seed" -> mySeed = Long.parseLong(value);
+                    case "--policy" -> myPolicy = value;
+                    case "--randomizer" -> myRandomizer = PieceGenerator.Strategy.valueOf(
+                            value.toUpperCase(Locale.ROOT));
+                    case "--max-pieces" -> myMaxPieces = positive(option, value);
+                    case "--width" -> myWidth = atMost(option, value, BitBoard.MAX_WIDTH);
+                    case "--height" -> myHeight = atMost(option, value, BitBoard.MAX_HEIGHT);
+                    case "--cache-mb" -> myCacheMegabytes = nonNegative(option, value);
+                    default -> throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+        }
+        if (!POLICIES.contains(myPolicy)) {
+            throw new IllegalArgumentException("Unknown policy " + myPolicy
+                                               + ", expected one of " + POLICIES);
+        }
+    }
+
+    /**
+     * Parses a positive integer option value.
+     *
+     * @param theOption the option name.
+     * @param theValue the option value.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the value is not a positive integer.
+     */
+    private static int positive(final String theOption, final String theValue) {
+        final int result = Integer.parseInt(theValue);
+        if (result < 1) {
+            throw new IllegalArgumentException(theOption + " must be positive: " + theValue);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a positive integer option value with an upper bound.
+     *
+     * @param theOption the option name.
+     * @param theValue the option value.
+     * @param theMax the largest allowed value.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the value is not an integer from 1 to theMax.
+     */
+    private static int atMost(final String theOption, final String theValue,
+                              final int theMax) {
+        final int result = positive(theOption, theValue);
+        if (result > theMax) {
+            throw new IllegalArgumentException(theOption + " must be at most " + theMax
+                                               + ": " + theValue);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a non-negative integer option value.
+     *
+     * @param theOption the option name.
+     * @param theValue the option value.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the value is not a non-negative integer.
+     */
+    private static int nonNegative(final String theOption, final String theValue) {
+        final int result = Integer.parseInt(theValue);
+        if (result < 0) {
+            throw new IllegalArgumentException(theOption + " must not be negative: "
+                                               + theValue);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the policy for one game.
+     *
+     * @param theSeed the seed of the game.
+     * @return a new policy.
+     * @throws IllegalArgumentException for an unknown policy name.
+     */
+    private IPolicy createPolicy(final long theSeed) {
+        return switch (myPolicy) {
+            case "random" -> new RandomPolicy(theSeed);
+            case "greedy" -> new GreedyPolicy(myTable);
+            case "beam" -> new BeamSearchPolicy(mySearchPool, myTable);
+            default -> throw new IllegalArgumentException("Unknown policy " + myPolicy);
+        };
+    }
+
+    /**
+     * Plays every game on a pool of worker threads and logs the report.
+     *
+     * @throws ExecutionException if a game failed.
+     * @throws InterruptedException if interrupted while waiting for the games.
+     */
+    private void run() throws ExecutionException, InterruptedException {
+        final int[] pieces = new int[myGames];
+        final int[] lines = new int[myGames];
+        final int[] scores = new int[myGames];
+        final ExecutorService pool = Executors.newFixedThreadPool(myThreads);
+        mySearchPool = new ForkJoinPool(myThreads);
+        if (myCacheMegabytes > 0) {
+            myTable = TranspositionTable.ofBytes(myCacheMegabytes * BYTES_PER_MB);
+        }
+        final List<Callable<Void>> games = new ArrayList<>(myGames);
+        for (int g = 0; g < myGames; g++) {
+            final int game = g;
+            games.add(() -> {
+                playGame(game, pieces, lines, scores);
+                return null;
+            });
+        }
+        final long start = System.nanoTime();
+        try {
+            final List<Future<Void>> results = pool.invokeAll(games);
+            for (int g = 0; g < myGames; g++) {
+                try {
+                    results.get(g).get();
+                } catch (final ExecutionException e) {
+                    throw new ExecutionException("Game " + g + " failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+            mySearchPool.shutdown();
+        }
+        final double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        final long totalPieces = Arrays.stream(pieces).asLongStream().sum();
+        LOGGER.info(String.format("%d games, policy %s, randomizer %s, %d threads, "
+                                  + "seed %d: %d pieces in %.3f s, %.0f pieces/s",
+                                  myGames, myPolicy, myRandomizer, myThreads, mySeed,
+                                  totalPieces, seconds, totalPieces / seconds));
+        LOGGER.info("pieces " + describe(pieces));
+        LOGGER.info("lines  " + describe(lines));
+        LOGGER.info("score  " + describe(scores));
+        if (myTable != null) {
+            LOGGER.info(myTable.toString());
+        }
+    }
+
+    /**
+     * Plays one game to the end or to the piece limit.
+     *
+     * @param theGame the index of the game.
+     * @param thePieces where to store the number of pieces played.
+     * @param theLines where to store the number of lines cleared.
+     * @param theScores where to store the final score.
+     */
+    private void playGame(final int theGame, final int[] thePieces,
+                          final int[] theLines, final int[] theScores) {
+        final SplittableRandom random = new SplittableRandom(mySeed + theGame);
+        final IBoard board = Board.create(myWidth, myHeight,
+                                          PieceGenerator.create(myRandomizer, random.nextLong()));
+        final IPolicy policy = createPolicy(random.nextLong());
+        board.newGame();
+        int count = 0;
+        while (!board.isGameOver() && count < myMaxPieces) {
+            policy.play(board);
+            count++;
+        }
+        thePieces[theGame] = count;
+        theLines[theGame] = board.getRowsCleared();
+        theScores[theGame] = board.getScore();
+    }
+
+    /**
+     * Summarizes a distribution.
+     *
+     * @param theValues the values, one per game.
+     * @return the minimum, mean, percentiles and maximum.
+     */
+    private static String describe(final int[] theValues) {
+        final int[] sorted = theValues.clone();
+        Arrays.sort(sorted);
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("min %d mean %.1f", sorted[0],
+                                Arrays.stream(sorted).average().orElse(0)));
+        for (final int p : PERCENTILES) {
+            sb.append(String.format(" p%d %d", p, sorted[(sorted.length - 1) * p / 100]));
+        }
+        sb.append(" max ").append(sorted[sorted.length - 1]);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package model;
+
+/**
+ * Read-only view of a bitboard holding the frozen blocks of a Tetris board.
+ * <p>
+ * Row 0 is the bottom row of the board. Each row is stored as one occupancy word
+ * where bit x is set when column x holds a frozen block.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public interface IBitBoard {
+
+    /**
+     * Get's the width of the board.
+     *
+     * @return the board's width.
+     */
+    int getWidth();
+
+    /**
+     * Get's the height of the board.
+     *
+     * @return the board's height.
+     */
+    int getHeight();
+
+    /**
+     * Returns the occupancy word of a row. Rows outside the board are empty.
+     *
+     * @param theY the row to return.
+     * @return the occupancy bits of the row.
+     */
+    int getRow(int theY);
+
+    /**
+     * Returns whether a cell holds a frozen block.
+     *
+     * @param theX the column of the cell.
+     * @param theY the row of the cell.
+     * @return true if the cell is on the board and occupied.
+     */
+    boolean isOccupied(int theX, int theY);
+
+    /**
+     * Returns the Block stored at a cell.
+     *
+     * @param theX the column of the cell.
+     * @param theY the row of the cell.
+     * @return the Block at the cell or null if the cell is empty.
+     */
+    Block getBlock(int theX, int theY);
+
+    /**
+     * Returns whether every cell of a row is occupied.
+     *
+     * @param theY the row to test.
+     * @return true if the row is complete.
+     */
+    boolean isRowFull(int theY);
+
+    /**
+     * Returns the height of a column, i.e. one more than the row of its highest block.
+     *
+     * @param theX the column to measure.
+     * @return the column height, 0 for an empty column.
+     */
+    int getColumnHeight(int theX);
+
+    /**
+     * Returns the number of occupied cells.
+     *
+     * @return the number of frozen blocks.
+     */
+    int getCellCount();
+
+    /**
+     * Returns the sum of the column heights.
+     *
+     * @return the aggregate height.
+     */
+    int getAggregateHeight();
+
+    /**
+     * Returns the number of empty cells below the top of their column.
+     *
+     * @return the number of holes.
+     */
+    int getHoles();
+
+    /**
+     * Returns the sum of the height differences between neighbouring columns.
+     *
+     * @return the bumpiness.
+     */
+    int getBumpiness();
+
+    /**
+     * Returns the number of changes between empty and occupied cells along every row,
+     * counting the side walls as occupied.
+     *
+     * @return the row transitions.
+     */
+    int getRowTransitions();
+
+    /**
+     * Returns the number of changes between empty and occupied cells up every column,
+     * counting the floor as occupied.
+     *
+     * @return the column transitions.
+     */
+    int getColumnTransitions();
+
+    /**
+     * Returns the cumulative depth of the wells. A column lower than both neighbours,
+     * with the side walls as high as the board, is a well of depth d and adds
+     * 1 + 2 + ... + d.
+     *
+     * @return the cumulative well depth.
+     */
+    int getWells();
+
+    /**
+     * Returns the {@link Zobrist} hash of the occupied cells. Bitboards with the same
+     * cells occupied have the same hash, whatever their colors.
+     *
+     * @return the 64-bit hash.
+     */
+    long getHash();
+
+    /**
+     * Returns whether a piece fits at a position: every block is inside the side walls
+     * and the floor and no block overlaps a frozen block. Space above the board is free.
+     *
+     * @param thePiece the TetrisPiece to test.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece.
+     * @param theY the y position of the piece.
+     * @return true if the piece can be placed there.
+     */
+    boolean canPlace(TetrisPiece thePiece, int theRotation, int theX, int theY);
+
+    /**
+     * Returns the row at which a piece comes to rest when dropped straight down.
+     * <p>
+     * When every block of the piece is above the skyline the answer comes from the
+     * column heights in one pass over the piece's columns; only a piece tucked under
+     * an overhang is stepped down row by row.
+     *
+     * @param thePiece the TetrisPiece to drop.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece.
+     * @param theY the y position of the piece, which must be a legal position.
+     * @return the lowest legal y position reachable by moving straight down.
+     */
+    int dropRow(TetrisPiece thePiece, int theRotation, int theX, int theY);
+
+    /**
+     * Returns the highest row at which a piece lowered from above the stack is blocked
+     * by a frozen block or the floor. The piece rests one row above it. One pass over
+     * the piece's columns and the column heights; nothing is allocated.
+     *
+     * @param thePiece the TetrisPiece to lower.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece, which must be inside the side walls.
+     * @return the highest blocked y position of the piece.
+     */
+    int firstBlockedRow(TetrisPiece thePiece, int theRotation, int theX);
+
+    /**
+     * Copies these frozen blocks into another bitboard of the same size.
+     *
+     * @param theTarget the bitboard to overwrite.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    void copyTo(BitBoard theTarget);
+}
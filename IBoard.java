@@ -71,6 +71,101 @@ public interface IBoard {
      */
     void drop();
 
+    /**
+     * Applies a sequence of inputs as one batch, notifying observers once per changed
+     * property when the batch ends instead of after every input. The batch stops early
+     * if the game ends.
+     *
+     * @param theCommands the {@link Input} codes.
+     * @param theFrom the index of the first input to apply.
+     * @param theTo one past the index of the last input to apply.
+     * @return the number of inputs applied.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     * @throws IllegalArgumentException for an unknown input code.
+     */
+    int apply(int[] theCommands, int theFrom, int theTo);
+
+    /**
+     * Returns whether the current game is over.
+     *
+     * @return true if the game is over.
+     */
+    boolean isGameOver();
+
+    /**
+     * Returns the score of the current game.
+     *
+     * @return the score.
+     */
+    int getScore();
+
+    /**
+     * Returns the number of rows cleared in the current game.
+     *
+     * @return the number of cleared rows.
+     */
+    int getRowsCleared();
+
+    /**
+     * Returns the movable piece as a packed state.
+     *
+     * @return the packed state of the current piece, see {@link PieceState}, or
+     *         {@link PieceState#NONE} before the first game.
+     */
+    int getCurrentPiece();
+
+    /**
+     * Returns a live read-only view of the frozen blocks.
+     *
+     * @return the frozen blocks.
+     */
+    IBitBoard getFrozenBlocks();
+
+    /**
+     * Returns an immutable snapshot of the frozen blocks.
+     *
+     * @return the current snapshot.
+     */
+    BoardSnapshot getSnapshot();
+
+    /**
+     * Returns a live read-only view of the pieces that are next to play.
+     *
+     * @return the preview queue.
+     */
+    IPieceQueue getPreview();
+
+    /**
+     * Returns a {@link Zobrist} hash of the position: the occupied cells, the current
+     * piece and the preview pieces. Equal positions have equal hashes.
+     *
+     * @return the 64-bit hash.
+     */
+    long getHash();
+
+    /**
+     * Returns whether a piece fits at a position on the frozen blocks, see
+     * {@link IBitBoard#canPlace}.
+     *
+     * @param thePiece the TetrisPiece to test.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece.
+     * @param theY the y position of the piece.
+     * @return true if the piece can be placed there.
+     */
+    boolean canPlace(TetrisPiece thePiece, int theRotation, int theX, int theY);
+
+    /**
+     * Returns the highest row at which a piece lowered from above the stack is blocked,
+     * see {@link IBitBoard#firstBlockedRow}.
+     *
+     * @param thePiece the TetrisPiece to lower.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position of the piece, which must be inside the side walls.
+     * @return the highest blocked y position of the piece.
+     */
+    int firstBlockedRow(TetrisPiece thePiece, int theRotation, int theX);
+
     /**
      * Adds a property change listener to this Board.
      *
@@ -84,4 +179,12 @@ public interface IBoard {
      * @param theListener is the property change listener to be added.
      */
     void removePropertyChangeListener(PropertyChangeListener theListener);
+
+    /**
+     * Returns the bus that delivers the notifications of this Board to typed
+     * subscribers. Property change listeners keep receiving the same notifications.
+     *
+     * @return the event bus.
+     */
+    BoardEventBus getEvents();
 }
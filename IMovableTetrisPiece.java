@@ -28,6 +28,13 @@ public interface IMovableTetrisPiece {
      */
     Rotation getRotation();
 
+    /**
+     * Get the packed state of this movable TetrisPiece.
+     *
+     * @return the packed state, see {@link PieceState}.
+     */
+    int getState();
+
     /**
      * Gets the TetrisPiece points rotated and translated to board coordinates.
      *
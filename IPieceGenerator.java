@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Source of the TetrisPieces played on a Board.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface IPieceGenerator {
+
+    /**
+     * Returns the next TetrisPiece to play.
+     *
+     * @return the next TetrisPiece.
+     */
+    TetrisPiece next();
+}
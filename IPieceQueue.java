@@ -0,0 +1,43 @@
+package model;
+
+/**
+ * Read-only view of the pieces waiting to be played on a Board.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public interface IPieceQueue {
+
+    /**
+     * Returns the number of pieces that can be previewed.
+     *
+     * @return the preview depth.
+     */
+    int size();
+
+    /**
+     * Returns an upcoming piece.
+     *
+     * @param theIndex 0 for the next piece to play, 1 for the one after it and so on.
+     * @return the upcoming piece.
+     * @throws IndexOutOfBoundsException if theIndex is not less than {@link #size()}.
+     */
+    TetrisPiece peek(int theIndex);
+
+    /**
+     * Returns the ordinal of an upcoming piece, without looking up the enum constant.
+     *
+     * @param theIndex 0 for the next piece to play, 1 for the one after it and so on.
+     * @return the ordinal of the upcoming piece.
+     * @throws IndexOutOfBoundsException if theIndex is not less than {@link #size()}.
+     */
+    int peekOrdinal(int theIndex);
+
+    /**
+     * Returns an immutable copy of the previewed pieces, which may be read on any
+     * thread.
+     *
+     * @return the pieces the preview shows now.
+     */
+    IPieceQueue snapshot();
+}
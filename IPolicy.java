@@ -0,0 +1,20 @@
+package ai;
+
+import model.IBoard;
+
+/**
+ * A player that decides where the current piece of a Board goes.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface IPolicy {
+
+    /**
+     * Plays the current piece of a board: moves it and drops it into place.
+     *
+     * @param theBoard the board to play on; its game must not be over.
+     */
+    void play(IBoard theBoard);
+}
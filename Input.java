@@ -0,0 +1,51 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * Codes of the player inputs a Board accepts, for code that stores or replays
+ * sequences of moves as plain ints.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class Input {
+
+    /**
+     * Move the current piece one column to the left.
+     */
+    public static final int LEFT = 0;
+
+    /**
+     * Move the current piece one column to the right.
+     */
+    public static final int RIGHT = 1;
+
+    /**
+     * Move the current piece one row down.
+     */
+    public static final int DOWN = 2;
+
+    /**
+     * Rotate the current piece clockwise.
+     */
+    public static final int ROTATE_CW = 3;
+
+    /**
+     * Rotate the current piece counter clockwise.
+     */
+    public static final int ROTATE_CCW = 4;
+
+    /**
+     * Drop the current piece until it freezes.
+     */
+    public static final int DROP = 5;
+
+    private Input() {
+        super();
+    }
+}
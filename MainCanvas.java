@@ -7,15 +7,14 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import javax.swing.JPanel;
 import model.Block;
-import model.Board;
+import model.BoardEvent;
+import model.BoardEventBus;
+import model.BoardSnapshot;
 import model.IMovableTetrisPiece;
 import model.Point;
 
@@ -31,9 +30,9 @@ import model.Point;
 // integral to the application's logic and functionality.
 // These numbers are used with specific meanings and are not arbitrary, enhancing code readability.
 // Such as, setting the paint color with a specified RGB value.
-//@SuppressWarnings({"unchecked", "CheckStyle"})
-@SuppressWarnings({"unchecked", "CheckStyle"})
-public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme {
+//@SuppressWarnings("CheckStyle")
+@SuppressWarnings("CheckStyle")
+public class MainCanvas extends JPanel implements ITheme {
 
     /**
      * Constant size of each grid size for drawing a tetromino and the font size.
@@ -91,10 +90,9 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
      */
     private final Random myRandom = new Random();
     /**
-     * This is a list representing the game board. Each inner
-     * array represents a row.
+     * This is a read-only snapshot of the frozen blocks on the game board.
      */
-    private List<Block[]> myGameBoard;
+    private BoardSnapshot myGameBoard;
     /**
      * Map mapping Block types to dsiplay colors for rendering.
      */
@@ -123,9 +121,14 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
      * Int representation of the current theme.
      */
     private int myTheme = 1;
+    /**
+     * Height of the board being drawn.
+     */
+    private final int myBoardHeight;
 
-    MainCanvas() {
+    MainCanvas(final int theBoardHeight) {
         super();
+        myBoardHeight = theBoardHeight;
         myColorMappings = new HashMap<>();
         mapColors();
         myFinalClear = 0;
@@ -175,10 +178,10 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
         }
 
         if (myGameBoard != null) {
-            for (int i = 0; i < myGameBoard.size(); i++) {
-                int x = 0;
-                final int y = (Board.getInstance().getHeight() - i - 2) * SIZE;
-                for (final Block block : myGameBoard.get(i)) {
+            for (int i = 0; i < myGameBoard.getHeight(); i++) {
+                final int y = (myGameBoard.getHeight() - i - 2) * SIZE;
+                for (int x = 0; x < myGameBoard.getWidth(); x++) {
+                    final Block block = myGameBoard.getBlock(x, i);
                     if (block != Block.EMPTY && block != null) {
                         theGraphics2D.setStroke(new BasicStroke(WIDTH));
                         theGraphics2D.setColor(Color.BLACK);
@@ -187,7 +190,6 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
                         theGraphics2D.fill(new Rectangle2D.Double((x * SIZE) + 1,
                                 y + 1, SIZE - 1, SIZE - 1));
                     }
-                    x++;
                 }
             }
         }
@@ -202,7 +204,7 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
             final Point[] pos = myCurrentPiece.getBoardPoints();
             for (final Point point : pos) {
                 final int x = point.x() * SIZE;
-                final int y = SIZE * (Board.getInstance().getHeight() - 2 - point.y());
+                final int y = SIZE * (myBoardHeight - 2 - point.y());
                 theGraphics2D.setStroke(new BasicStroke(WIDTH));
                 theGraphics2D.setPaint(Color.WHITE);
                 theGraphics2D.draw(new Rectangle2D.Double(x, y, SIZE, SIZE));
@@ -249,37 +251,55 @@ public class MainCanvas extends JPanel implements PropertyChangeListener, ITheme
         theGraphics2D.fillRect(0, 0, getWidth(), getHeight());
     }
 
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvent) {
-        if (theEvent.getPropertyName().equals(Board.PROPERTY_GAME_BOARD)) {
-            if (theEvent.getNewValue() instanceof List<?>) {
-                // Suppressing unchecked cast warning because the setup ensures that the value
-                // will always be a List<Block[]>.
-                //@SuppressWarnings("unchecked")
-                myGameBoard = (List<Block[]>) theEvent.getNewValue();
-                repaint();
-            }
+    /**
+     * Subscribes this canvas to the board events it draws.
+     *
+     * @param theEvents the event bus of the board.
+     */
+    public void subscribe(final BoardEventBus theEvents) {
+        theEvents.subscribe(BoardEvent.GAME_BOARD, BoardSnapshot.class, this::boardChanged);
+        theEvents.subscribe(BoardEvent.CURRENT_PIECE, IMovableTetrisPiece.class,
+                            this::pieceChanged);
+        theEvents.subscribe(BoardEvent.LINES, theLines -> myFinalClear = theLines);
+        theEvents.subscribe(BoardEvent.SCORE, theScore -> myFinalScore = theScore);
+        theEvents.subscribe(BoardEvent.GAME_OVER, Boolean.class, this::gameOverChanged);
+    }
 
-        }
-        if (theEvent.getPropertyName().equals(Board.PROPERTY_CURRENT_PIECE)) {
-            myCurrentPiece = (IMovableTetrisPiece) theEvent.getNewValue();
-            repaint();
-        }
-        if (theEvent.getPropertyName().equals(Board.PROPERTY_ROW_CLEAR)) {
-            myFinalClear = (int) theEvent.getNewValue();
-        }
-        if (theEvent.getPropertyName().equals(Board.PROPERTY_SCORE_UPDATE)) {
-            myFinalScore = (int) theEvent.getNewValue();
-        }
-        if (theEvent.getPropertyName().equals
-                (Board.PROPERTY_GAME_OVER) && myGameBoard != null) {
-            myGameBoard.clear();
+    /**
+     * Draws new frozen blocks.
+     *
+     * @param theBoard the frozen blocks.
+     */
+    private void boardChanged(final BoardSnapshot theBoard) {
+        myGameBoard = theBoard;
+        repaint();
+    }
+
+    /**
+     * Draws the current piece.
+     *
+     * @param thePiece the current piece.
+     */
+    private void pieceChanged(final IMovableTetrisPiece thePiece) {
+        myCurrentPiece = thePiece;
+        repaint();
+    }
+
+    /**
+     * Clears the board when a game ends or starts, showing the game over message in
+     * the first case.
+     *
+     * @param theGameOver true if the game ended, false if a new game started.
+     */
+    private void gameOverChanged(final Boolean theGameOver) {
+        if (myGameBoard != null) {
+            myGameBoard = BoardSnapshot.empty(myGameBoard.getWidth(), myGameBoard.getHeight());
             myCurrentPiece = null;
-            if (theEvent.getOldValue() == null) {
+            if (theGameOver) {
+                myGameOver = true;
+            } else {
                 myGameOver = false;
                 myFinalClear = 0;
-            } else {
-                myGameOver = true;
             }
 
             repaint();
@@ -9,7 +9,8 @@ package model;
 /**
  * Represents a TetrisPiece with a position and a rotation.
  * <p>
- * A MovableTetrisPiece is immutable.
+ * A MovableTetrisPiece is immutable. It is a view of a {@link PieceState packed state};
+ * the Board moves packed states and only creates MovableTetrisPieces for observers.
  * 
  * @author Charles Bryan
  * @author Alan Fowler
@@ -23,19 +24,9 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
     private static final int BLOCKS = 4;
     
     /**
-     * The TetrisPiece.
+     * The packed type, rotation and position of this TetrisPiece.
      */
-    private final TetrisPiece myTetrisPiece;
-    
-    /**
-     * The board position of this TetrisPiece.
-     */
-    private final Point myPosition;
-
-    /**
-     * The rotation value of this TetrisPiece.
-     */
-    private final Rotation myRotation;
+    private final int myState;
     
     // This constructor allows creation of pieces in the zero rotational state
     /**
@@ -62,11 +53,28 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
     public MovableTetrisPiece(final TetrisPiece theTetrisPiece,
                               final Point thePosition, 
                               final Rotation theRotation) {
+        this(PieceState.of(theTetrisPiece, theRotation.ordinal(),
+                           thePosition.x(), thePosition.y()));
+    }
+
+    /**
+     * Constructs a MovableTetrisPiece viewing a packed piece state.
+     *
+     * @param theState the packed state, see {@link PieceState}.
+     */
+    public MovableTetrisPiece(final int theState) {
         super();
+        myState = theState;
+    }
 
-        myTetrisPiece = theTetrisPiece;
-        myPosition = thePosition;
-        myRotation = theRotation;
+    /**
+     * Get the packed state of this movable TetrisPiece.
+     *
+     * @return the packed state, see {@link PieceState}.
+     */
+    @Override
+    public int getState() {
+        return myState;
     }
     
     /**
@@ -76,7 +84,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public TetrisPiece getTetrisPiece() {
-        return myTetrisPiece;
+        return PieceState.piece(myState);
     }
     
     /**
@@ -86,7 +94,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public Point getPosition() {
-        return myPosition;
+        return Point.valueOf(PieceState.x(myState), PieceState.y(myState));
     } 
     
     /**
@@ -96,14 +104,14 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public Rotation getRotation() {
-        return myRotation;
+        return Rotation.fromOrdinal(PieceState.rotation(myState));
     }
     
     
     // methods overridden from class Object
     @Override
     public String toString() {
-        final StringBuilder sb = new StringBuilder(myPosition.toString());
+        final StringBuilder sb = new StringBuilder(getPosition().toString());
         sb.append('\n');
         final String[][] blocks = new String[BLOCKS][BLOCKS];
         for (int h = 0; h < BLOCKS; h++) {
@@ -137,7 +145,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public Point[] getBoardPoints() {
-        return getPoints(myPosition);
+        return getPoints(getPosition());
     }
     
     // protected movement methods - used by the Board class
@@ -148,9 +156,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece rotateCW() {
-        return new MovableTetrisPiece(myTetrisPiece,
-                                      myPosition,
-                                      myRotation.clockwise());
+        return new MovableTetrisPiece(PieceState.rotateCW(myState));
     }
 
     /**
@@ -160,9 +166,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece rotateCCW() {
-        return new MovableTetrisPiece(myTetrisPiece,
-                                      myPosition,
-                                      myRotation.counterClockwise());
+        return new MovableTetrisPiece(PieceState.rotateCCW(myState));
     }
 
     /**
@@ -172,9 +176,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece left() {
-        return new MovableTetrisPiece(myTetrisPiece,
-                                      myPosition.transform(-1, 0),
-                                      myRotation);
+        return new MovableTetrisPiece(PieceState.left(myState));
     }
 
     /**
@@ -184,9 +186,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece right() {
-        return new MovableTetrisPiece(myTetrisPiece,
-                                      myPosition.transform(1, 0),
-                                      myRotation);
+        return new MovableTetrisPiece(PieceState.right(myState));
     }
 
     /**
@@ -196,9 +196,7 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece down() {
-        return new MovableTetrisPiece(myTetrisPiece,
-                                      myPosition.transform(0, -1),
-                                      myRotation);
+        return new MovableTetrisPiece(PieceState.down(myState));
     }
     
     // This protected method is used by the Board class rotation methods
@@ -212,7 +210,8 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     @Override
     public MovableTetrisPiece setPosition(final Point thePosition) {
-        return new MovableTetrisPiece(myTetrisPiece, thePosition, myRotation);
+        return new MovableTetrisPiece(PieceState.setPosition(myState, thePosition.x(),
+                                                             thePosition.y()));
     }
 
 
@@ -227,25 +226,26 @@ public final class MovableTetrisPiece implements IMovableTetrisPiece {
      */
     private Point[] getPoints(final Point thePoint) {
 
-        final Point[] blocks = myTetrisPiece.getPoints();
+        final TetrisPiece piece = getTetrisPiece();
+        final Point[] blocks = piece.getPoints();
         
         for (int i = 0; i < blocks.length; i++) {
             final Point block = blocks[i];
-            if (myTetrisPiece != TetrisPiece.O) {
-                switch (myRotation) {
+            if (piece != TetrisPiece.O) {
+                switch (getRotation()) {
                     case QUARTER:
-                        blocks[i] = new Point(block.y(),
-                                              myTetrisPiece.getWidth() - block.x() - 1);
+                        blocks[i] = Point.valueOf(block.y(),
+                                                  piece.getWidth() - block.x() - 1);
                         
                         break;
                     case HALF:
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.x() - 1,
-                                              myTetrisPiece.getWidth() - block.y() - 1);
+                        blocks[i] = Point.valueOf(piece.getWidth() - block.x() - 1,
+                                                  piece.getWidth() - block.y() - 1);
                         
                         break;
                     case THREEQUARTER:                 
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.y() - 1,
-                                              block.x());
+                        blocks[i] = Point.valueOf(piece.getWidth() - block.y() - 1,
+                                                  block.x());
                         
                         
                         break;
@@ -0,0 +1,653 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.search;
+
+import java.util.Arrays;
+import model.IBitBoard;
+import model.IBoard;
+import model.Input;
+import model.PieceState;
+import model.TetrisPiece;
+import model.Zobrist;
+import model.wallkicks.WallKick;
+
+/**
+ * Enumerates every placement a piece can reach from its current state.
+ * <p>
+ * The search is a breadth first search over packed {@link PieceState}s using the same
+ * moves as a Board: left, right, one row down and both rotations with wall kicks.
+ * Pieces can therefore tuck under overhangs and spin into slots a straight drop
+ * cannot reach. Every buffer is allocated once per generator, so a search allocates
+ * nothing; use one generator per thread.
+ * <p>
+ * A placement is a state the piece cannot move down from. Placements covering the
+ * same cells through different rotations are reported once. Because the search is
+ * breadth first, {@link #getPath(int)} returns a shortest input sequence.
+ * <p>
+ * When the stack stays below the piece and no hole can be tucked into, every column can
+ * be reached by rotating and shifting the piece where it starts and dropping it, so the
+ * placements depend only on the piece and the column heights. Such boards skip the
+ * search: each distinct rotation is dropped in each column, and the list is remembered
+ * by its surface signature, the column heights relative to the lowest column, and
+ * replayed shifted to the board's height when the signature comes back. The path to
+ * such a placement is the rotations and shifts followed by a drop. Any other board is
+ * searched in full.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class MoveGenerator {
+
+    /**
+     * Columns and rows outside the board included in the state space.
+     */
+    private static final int PAD = 4;
+
+    /**
+     * Marks the start state, which has no parent.
+     */
+    private static final int NO_PARENT = -1;
+
+    /**
+     * Cached TetrisPiece values, indexed by ordinal.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * Widest board whose surface signature fits in a long.
+     */
+    private static final int MAX_SIGNATURE_WIDTH = 15;
+
+    /**
+     * Bits of one column in a surface signature.
+     */
+    private static final int SIGNATURE_BITS = 4;
+
+    /**
+     * Largest column height above the lowest column in a surface signature.
+     */
+    private static final int MAX_SIGNATURE_HEIGHT = (1 << SIGNATURE_BITS) - 1;
+
+    /**
+     * Marks a board that has no surface signature, and an empty cache slot.
+     */
+    private static final long NO_SIGNATURE = -1;
+
+    /**
+     * Base 2 logarithm of the number of remembered surface signatures.
+     */
+    private static final int SIGNATURE_CACHE_BITS = 12;
+
+    /**
+     * Width of the boards searched.
+     */
+    private final int myWidth;
+
+    /**
+     * Height of the boards searched.
+     */
+    private final int myHeight;
+
+    /**
+     * Number of rows in the state space.
+     */
+    private final int myRows;
+
+    /**
+     * Number of states with one rotation in the state space.
+     */
+    private final int myRotationSize;
+
+    /**
+     * One bit per state that has been queued.
+     */
+    private final long[] myVisited;
+
+    /**
+     * One bit per canonical placement that has been reported.
+     */
+    private final long[] myPlaced;
+
+    /**
+     * States waiting to be expanded.
+     */
+    private final int[] myQueue;
+
+    /**
+     * Number of states queued so far.
+     */
+    private int myTail;
+
+    /**
+     * Index of the state each state was reached from.
+     */
+    private final int[] myParents;
+
+    /**
+     * Input that reached each state.
+     */
+    private final byte[] myCommands;
+
+    /**
+     * Placements found by the last search, as packed states.
+     */
+    private final int[] myPlacements;
+
+    /**
+     * Number of placements found by the last search.
+     */
+    private int myPlacementCount;
+
+    /**
+     * Wall kick offsets as x, y pairs, indexed by piece, start rotation and direction
+     * (0 clockwise, 1 counter clockwise).
+     */
+    private final int[][][][] myKicks;
+
+    /**
+     * Lowest rotation with the same shape, indexed by piece and rotation.
+     */
+    private final int[][] myCanonical;
+
+    /**
+     * Lowest row offset of any rotation, indexed by piece.
+     */
+    private final int[] myLowest;
+
+    /**
+     * Surface signature of each cache slot, or NO_SIGNATURE.
+     */
+    private final long[] mySignatures;
+
+    /**
+     * Placements of the cache slots, with y relative to the lowest column,
+     * mySignatureStride entries per slot.
+     */
+    private final int[] mySignaturePlacements;
+
+    /**
+     * Number of placements of each cache slot.
+     */
+    private final int[] mySignatureCounts;
+
+    /**
+     * Most placements a cache slot holds: one per rotation and column, 0 for boards too
+     * wide for a surface signature.
+     */
+    private final int mySignatureStride;
+
+    /**
+     * State the last search started from.
+     */
+    private int myStart;
+
+    /**
+     * Whether the last placements were listed from the surface instead of searched.
+     */
+    private boolean myDirect;
+
+    /**
+     * Height of the lowest column of the last board with a surface signature.
+     */
+    private int myBase;
+
+    /**
+     * Constructs a move generator for boards of a given size.
+     *
+     * @param theWidth the width of the boards to search.
+     * @param theHeight the height of the boards to search.
+     */
+    public MoveGenerator(final int theWidth, final int theHeight) {
+        super();
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myRows = theHeight + 2 * PAD;
+        myRotationSize = (theWidth + 2 * PAD) * myRows;
+        final int states = TetrisPiece.ROTATIONS * myRotationSize;
+        myVisited = new long[(states + Long.SIZE - 1) / Long.SIZE];
+        myPlaced = new long[myVisited.length];
+        myQueue = new int[states];
+        myParents = new int[states];
+        myCommands = new byte[states];
+        myPlacements = new int[states];
+        myKicks = new int[PIECES.length][TetrisPiece.ROTATIONS][][];
+        myCanonical = new int[PIECES.length][TetrisPiece.ROTATIONS];
+        myLowest = new int[PIECES.length];
+        for (final TetrisPiece piece : PIECES) {
+            myLowest[piece.ordinal()] = Integer.MAX_VALUE;
+            for (int r = 0; r < TetrisPiece.ROTATIONS; r++) {
+                myKicks[piece.ordinal()][r] = new int[][] {kicks(piece, r, r + 1),
+                                                           kicks(piece, r, r - 1)};
+                myCanonical[piece.ordinal()][r] = canonical(piece, r);
+                myLowest[piece.ordinal()] = Math.min(myLowest[piece.ordinal()],
+                                                     piece.getMinY(r));
+            }
+        }
+        mySignatures = new long[1 << SIGNATURE_CACHE_BITS];
+        mySignatureStride = theWidth <= MAX_SIGNATURE_WIDTH ? TetrisPiece.ROTATIONS * theWidth
+                                                            : 0;
+        mySignaturePlacements = new int[mySignatures.length * mySignatureStride];
+        mySignatureCounts = new int[mySignatures.length];
+        Arrays.fill(mySignatures, NO_SIGNATURE);
+    }
+
+    /**
+     * Flattens the wall kicks of one rotation into x, y pairs.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the rotation ordinal before rotating.
+     * @param theTo the rotation ordinal after rotating, taken modulo 4.
+     * @return the kick offsets in the order they are tried.
+     */
+    private static int[] kicks(final TetrisPiece thePiece, final int theFrom, final int theTo) {
+        final int to = theTo & TetrisPiece.ROTATIONS - 1;
+        final int[] result = new int[2 * WallKick.getKickCount(thePiece, theFrom, to)];
+        for (int k = 0; k < result.length / 2; k++) {
+            result[2 * k] = WallKick.getKickX(thePiece, theFrom, to, k);
+            result[2 * k + 1] = WallKick.getKickY(thePiece, theFrom, to, k);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the lowest rotation of a piece that covers the same cells as another.
+     *
+     * @param thePiece the piece.
+     * @param theRotation the rotation ordinal.
+     * @return the lowest rotation ordinal with the same shape.
+     */
+    private static int canonical(final TetrisPiece thePiece, final int theRotation) {
+        int result = theRotation;
+        for (int r = 0; r < theRotation && result == theRotation; r++) {
+            final int height = thePiece.getMaxY(r) - thePiece.getMinY(r);
+            boolean same = height == thePiece.getMaxY(theRotation)
+                                     - thePiece.getMinY(theRotation);
+            for (int row = 0; same && row <= height; row++) {
+                same = thePiece.getRowMask(r, row) == thePiece.getRowMask(theRotation, row);
+            }
+            if (same) {
+                result = r;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the width of the boards this generator searches.
+     *
+     * @return the board width.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Returns the height of the boards this generator searches.
+     *
+     * @return the board height.
+     */
+    public int getHeight() {
+        return myHeight;
+    }
+
+    /**
+     * Searches the placements of a Board's current piece.
+     *
+     * @param theBoard the board.
+     * @return the number of placements found.
+     */
+    public int generate(final IBoard theBoard) {
+        return generate(theBoard.getFrozenBlocks(), theBoard.getCurrentPiece());
+    }
+
+    /**
+     * Searches the placements of a piece.
+     *
+     * @param theBoard the frozen blocks, as wide and high as this generator.
+     * @param theStart the packed state the piece starts from.
+     * @return the number of placements found, 0 if the start state is blocked.
+     * @throws IllegalArgumentException if the board size does not match.
+     */
+    public int generate(final IBitBoard theBoard, final int theStart) {
+        if (theBoard.getWidth() != myWidth || theBoard.getHeight() != myHeight) {
+            throw new IllegalArgumentException("Board size does not match the generator");
+        }
+        myPlacementCount = 0;
+        myStart = theStart;
+        myDirect = false;
+        if (theStart != PieceState.NONE && fits(theBoard, theStart)) {
+            if (isOpen(theBoard, theStart)) {
+                generateDirect(theBoard, theStart);
+                myDirect = true;
+            } else {
+                Arrays.fill(myVisited, 0);
+                Arrays.fill(myPlaced, 0);
+                myTail = 0;
+                enqueue(theStart, NO_PARENT, 0);
+                search(theBoard, myKicks[PieceState.piece(theStart).ordinal()]);
+            }
+        }
+        return myPlacementCount;
+    }
+
+    /**
+     * Returns whether every placement of a piece can be reached by rotating and shifting
+     * it where it starts and dropping it: every rotation fits where the piece starts,
+     * the stack stays below the rows the piece starts in, and no hole is next to a
+     * column whose top is at or below the hole, so no piece can tuck into one.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theStart the packed state the piece starts from.
+     * @return true if the placements depend only on the column heights.
+     */
+    private boolean isOpen(final IBitBoard theBoard, final int theStart) {
+        int highest = 0;
+        for (int x = 0; x < myWidth; x++) {
+            highest = Math.max(highest, theBoard.getColumnHeight(x));
+        }
+        final int all = myWidth == Integer.SIZE ? -1 : (1 << myWidth) - 1;
+        boolean result = highest <= PieceState.y(theStart)
+                                    + myLowest[PieceState.piece(theStart).ordinal()];
+        for (int r = 0; result && r < TetrisPiece.ROTATIONS; r++) {
+            result = fits(theBoard, PieceState.withRotation(theStart, r));
+        }
+        for (int y = 0; result && theBoard.getHoles() > 0 && y < highest; y++) {
+            int covered = 0;
+            for (int x = 0; x < myWidth; x++) {
+                if (theBoard.getColumnHeight(x) > y) {
+                    covered |= 1 << x;
+                }
+            }
+            final int holes = ~theBoard.getRow(y) & covered;
+            result = ((holes << 1 | holes >>> 1) & ~covered & all) == 0;
+        }
+        return result;
+    }
+
+    /**
+     * Lists the placements of a piece on an open board by dropping every distinct
+     * rotation in every column, or replays them if a board with the same surface
+     * signature was listed before.
+     *
+     * @param theBoard the frozen blocks, open for the piece.
+     * @param theStart the packed state the piece starts from.
+     */
+    private void generateDirect(final IBitBoard theBoard, final int theStart) {
+        final long signature = signature(theBoard, theStart);
+        final int slot = (int) Zobrist.mix(signature) & mySignatures.length - 1;
+        final int offset = slot * mySignatureStride;
+        if (signature != NO_SIGNATURE && mySignatures[slot] == signature) {
+            myPlacementCount = mySignatureCounts[slot];
+            for (int i = 0; i < myPlacementCount; i++) {
+                myPlacements[i] = PieceState.translate(mySignaturePlacements[offset + i], 0,
+                                                       myBase);
+            }
+        } else {
+            final TetrisPiece piece = PieceState.piece(theStart);
+            for (int r = 0; r < TetrisPiece.ROTATIONS; r++) {
+                if (myCanonical[piece.ordinal()][r] == r) {
+                    for (int x = -piece.getMinX(r); x < myWidth - piece.getMaxX(r); x++) {
+                        myPlacements[myPlacementCount++] = PieceState.of(piece, r, x,
+                                theBoard.firstBlockedRow(piece, r, x) + 1);
+                    }
+                }
+            }
+            if (signature != NO_SIGNATURE) {
+                for (int i = 0; i < myPlacementCount; i++) {
+                    mySignaturePlacements[offset + i] =
+                        PieceState.translate(myPlacements[i], 0, -myBase);
+                }
+                mySignatures[slot] = signature;
+                mySignatureCounts[slot] = myPlacementCount;
+            }
+        }
+    }
+
+    /**
+     * Computes the surface signature of a board for a piece: the piece type and every
+     * column height relative to the lowest column, four bits each. The height of the
+     * lowest column is kept in myBase.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theStart the packed state the piece starts from.
+     * @return the signature, or NO_SIGNATURE if the board is too wide or too rough.
+     */
+    private long signature(final IBitBoard theBoard, final int theStart) {
+        long result = NO_SIGNATURE;
+        if (myWidth <= MAX_SIGNATURE_WIDTH) {
+            int lowest = Integer.MAX_VALUE;
+            int highest = 0;
+            for (int x = 0; x < myWidth; x++) {
+                lowest = Math.min(lowest, theBoard.getColumnHeight(x));
+                highest = Math.max(highest, theBoard.getColumnHeight(x));
+            }
+            if (highest - lowest <= MAX_SIGNATURE_HEIGHT) {
+                result = PieceState.piece(theStart).ordinal();
+                myBase = lowest;
+                for (int x = 0; x < myWidth; x++) {
+                    result = result << SIGNATURE_BITS | theBoard.getColumnHeight(x) - lowest;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Expands queued states until every reachable state has been visited.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theKicks the wall kicks of the piece, indexed by rotation and direction.
+     */
+    private void search(final IBitBoard theBoard, final int[][][] theKicks) {
+        for (int head = 0; head < myTail; head++) {
+            final int state = myQueue[head];
+            final int index = index(state);
+            tryMove(theBoard, PieceState.left(state), index, Input.LEFT);
+            tryMove(theBoard, PieceState.right(state), index, Input.RIGHT);
+            if (!tryMove(theBoard, PieceState.down(state), index, Input.DOWN)) {
+                addPlacement(state);
+            }
+            final int[][] kicks = theKicks[PieceState.rotation(state)];
+            tryRotation(theBoard, PieceState.rotateCW(state), kicks[0], index,
+                        Input.ROTATE_CW);
+            tryRotation(theBoard, PieceState.rotateCCW(state), kicks[1], index,
+                        Input.ROTATE_CCW);
+        }
+    }
+
+    /**
+     * Returns the number of placements found by the last search.
+     *
+     * @return the number of placements.
+     */
+    public int getPlacementCount() {
+        return myPlacementCount;
+    }
+
+    /**
+     * Returns a placement found by the last search.
+     *
+     * @param theIndex the index of the placement.
+     * @return the packed state the piece freezes in.
+     */
+    public int getPlacement(final int theIndex) {
+        return myPlacements[theIndex];
+    }
+
+    /**
+     * Returns the shortest sequence of inputs that freezes the piece in a placement
+     * found by the last search. The sequence ends with {@link Input#DROP}.
+     *
+     * @param theIndex the index of the placement.
+     * @return the {@link Input} codes to apply to the start state in order.
+     */
+    public int[] getPath(final int theIndex) {
+        final int[] result;
+        if (myDirect) {
+            result = getDirectPath(myPlacements[theIndex]);
+        } else {
+            result = getSearchPath(theIndex);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the inputs that rotate and shift the start state into the column of a
+     * placement and drop it there, which is a shortest path on a board with a
+     * surface signature.
+     *
+     * @param thePlacement the packed placement state.
+     * @return the {@link Input} codes, ending with {@link Input#DROP}.
+     */
+    private int[] getDirectPath(final int thePlacement) {
+        final int turns = PieceState.rotation(thePlacement) - PieceState.rotation(myStart)
+                          & TetrisPiece.ROTATIONS - 1;
+        final int shift = PieceState.x(thePlacement) - PieceState.x(myStart);
+        final int rotations = turns == TetrisPiece.ROTATIONS - 1 ? 1 : turns;
+        final int[] result = new int[rotations + Math.abs(shift) + 1];
+        Arrays.fill(result, 0, rotations, turns == TetrisPiece.ROTATIONS - 1
+                                          ? Input.ROTATE_CCW : Input.ROTATE_CW);
+        Arrays.fill(result, rotations, result.length - 1, shift < 0 ? Input.LEFT
+                                                                     : Input.RIGHT);
+        result[result.length - 1] = Input.DROP;
+        return result;
+    }
+
+    /**
+     * Returns the path to a placement recorded by the breadth first search.
+     *
+     * @param theIndex the index of the placement.
+     * @return the {@link Input} codes, ending with {@link Input#DROP}.
+     */
+    private int[] getSearchPath(final int theIndex) {
+        int length = 0;
+        for (int i = index(myPlacements[theIndex]); myParents[i] != NO_PARENT; i = myParents[i]) {
+            length++;
+        }
+        final int[] path = new int[length + 1];
+        int end = length;
+        for (int i = index(myPlacements[theIndex]); myParents[i] != NO_PARENT; i = myParents[i]) {
+            path[--length] = myCommands[i];
+        }
+        // the drop replaces the soft drops that end the path
+        while (end > 0 && path[end - 1] == Input.DOWN) {
+            end--;
+        }
+        path[end] = Input.DROP;
+        return Arrays.copyOf(path, end + 1);
+    }
+
+    /**
+     * Queues a moved state if it is legal and new.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theState the moved state.
+     * @param theParent the index of the state it was moved from.
+     * @param theCommand the input that moved it.
+     * @return true if the move is legal.
+     */
+    private boolean tryMove(final IBitBoard theBoard, final int theState,
+                            final int theParent, final int theCommand) {
+        final boolean result = fits(theBoard, theState);
+        if (result) {
+            enqueue(theState, theParent, theCommand);
+        }
+        return result;
+    }
+
+    /**
+     * Queues the first legal kick of a rotated state, as a Board would apply it.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theRotated the rotated state before any kick.
+     * @param theKicks the kick offsets as x, y pairs.
+     * @param theParent the index of the state it was rotated from.
+     * @param theCommand the input that rotated it.
+     */
+    private void tryRotation(final IBitBoard theBoard, final int theRotated,
+                             final int[] theKicks, final int theParent, final int theCommand) {
+        for (int k = 0; k < theKicks.length; k += 2) {
+            if (tryMove(theBoard, PieceState.translate(theRotated, theKicks[k], theKicks[k + 1]),
+                        theParent, theCommand)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns whether a state is legal on the board.
+     *
+     * @param theBoard the frozen blocks.
+     * @param theState the packed state.
+     * @return true if the piece fits.
+     */
+    private static boolean fits(final IBitBoard theBoard, final int theState) {
+        return theBoard.canPlace(PieceState.piece(theState), PieceState.rotation(theState),
+                                 PieceState.x(theState), PieceState.y(theState));
+    }
+
+    /**
+     * Queues a legal state unless it was queued before. States kicked too far above
+     * the board are outside the state space and ignored.
+     *
+     * @param theState the packed state.
+     * @param theParent the index of the state it was reached from.
+     * @param theCommand the input that reached it.
+     */
+    private void enqueue(final int theState, final int theParent, final int theCommand) {
+        if (PieceState.y(theState) < myHeight + PAD) {
+            final int index = index(theState);
+            if ((myVisited[index >>> 6] & 1L << index) == 0) {
+                myVisited[index >>> 6] |= 1L << index;
+                myParents[index] = theParent;
+                myCommands[index] = (byte) theCommand;
+                myQueue[myTail++] = theState;
+            }
+        }
+    }
+
+    /**
+     * Records a placement unless one covering the same cells was recorded.
+     *
+     * @param theState the packed state the piece freezes in.
+     */
+    private void addPlacement(final int theState) {
+        final TetrisPiece piece = PieceState.piece(theState);
+        final int rotation = PieceState.rotation(theState);
+        final int canonical = myCanonical[piece.ordinal()][rotation];
+        final int index = index(canonical,
+                PieceState.x(theState) + piece.getMinX(rotation) - piece.getMinX(canonical),
+                PieceState.y(theState) + piece.getMinY(rotation) - piece.getMinY(canonical));
+        if ((myPlaced[index >>> 6] & 1L << index) == 0) {
+            myPlaced[index >>> 6] |= 1L << index;
+            myPlacements[myPlacementCount++] = theState;
+        }
+    }
+
+    /**
+     * Returns the index of a legal state in the state space.
+     *
+     * @param theState the packed state.
+     * @return the index of the state.
+     */
+    private int index(final int theState) {
+        return index(PieceState.rotation(theState), PieceState.x(theState),
+                     PieceState.y(theState));
+    }
+
+    /**
+     * Returns the index of a position in the state space.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theX the x position.
+     * @param theY the y position.
+     * @return the index of the position.
+     */
+    private int index(final int theRotation, final int theX, final int theY) {
+        return theRotation * myRotationSize + (theX + PAD) * myRows + theY + PAD;
+    }
+}
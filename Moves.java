@@ -0,0 +1,66 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import model.IBoard;
+import model.Input;
+import model.PieceState;
+
+/**
+ * Helpers that steer the current piece of a Board with ordinary player inputs.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+final class Moves {
+
+    private Moves() {
+        super();
+    }
+
+    /**
+     * Rotates the current piece to a rotation, shifts it to a column and drops it.
+     * Inputs that the board rejects are skipped, so the piece lands as close to the
+     * target as the stack allows.
+     *
+     * @param theBoard the board to play on.
+     * @param theRotation the target rotation ordinal.
+     * @param theX the target x position.
+     */
+    static void steer(final IBoard theBoard, final int theRotation, final int theX) {
+        final int turns = theRotation - PieceState.rotation(theBoard.getCurrentPiece()) & 3;
+        if (turns == 3) {
+            theBoard.rotateCCW();
+        } else {
+            for (int i = 0; i < turns; i++) {
+                theBoard.rotateCW();
+            }
+        }
+        int x = PieceState.x(theBoard.getCurrentPiece());
+        int previous = Integer.MIN_VALUE;
+        while (x != theX && x != previous) {
+            previous = x;
+            if (x < theX) {
+                theBoard.right();
+            } else {
+                theBoard.left();
+            }
+            x = PieceState.x(theBoard.getCurrentPiece());
+        }
+        theBoard.drop();
+    }
+
+    /**
+     * Applies a sequence of inputs to the current piece as one batch.
+     *
+     * @param theBoard the board to play on.
+     * @param thePath the {@link Input} codes to apply in order.
+     */
+    static void follow(final IBoard theBoard, final int[] thePath) {
+        theBoard.apply(thePath, 0, thePath.length);
+    }
+}
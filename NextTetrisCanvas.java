@@ -6,10 +6,9 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import javax.swing.JPanel;
-import model.Board;
+import model.BoardEvent;
+import model.BoardEventBus;
 import model.Point;
 import model.TetrisPiece;
 
@@ -19,7 +18,7 @@ import model.TetrisPiece;
  * @author binaldhaliwal
  * @version 1.0
  */
-public class NextTetrisCanvas extends JPanel implements PropertyChangeListener, ITheme {
+public class NextTetrisCanvas extends JPanel implements ITheme {
     /**
      * Float that sets the stroke(line thickness).
      */
@@ -91,15 +90,17 @@ public class NextTetrisCanvas extends JPanel implements PropertyChangeListener,
         theGraphics2D.fillRect(0, 0, getWidth(), getHeight());
     }
 
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvt) {
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_NEXT_PIECE)) {
-            myNextPiece = (TetrisPiece) theEvt.getNewValue();
-            repaint();
-        }
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_GAME_OVER)) {
+    /**
+     * Subscribes this canvas to the next piece.
+     *
+     * @param theEvents the event bus of the board.
+     */
+    public void subscribe(final BoardEventBus theEvents) {
+        theEvents.subscribe(BoardEvent.NEXT_PIECE, TetrisPiece.class, thePiece -> {
+            myNextPiece = thePiece;
             repaint();
-        }
+        });
+        theEvents.subscribe(BoardEvent.GAME_OVER, Boolean.class, theGameOver -> repaint());
     }
 
     @Override
@@ -0,0 +1,187 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * A seeded source of TetrisPieces for one Board.
+ * <p>
+ * Each generator owns its own {@link SplittableRandom}, so a game is reproducible from
+ * its seed and generators on different threads never contend. {@link #split()} derives
+ * an independent generator for a parallel worker.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class PieceGenerator implements IPieceGenerator {
+
+    /**
+     * The strategies a generator can deal pieces with.
+     */
+    public enum Strategy {
+        /** Every piece is drawn uniformly at random. */
+        UNIFORM,
+        /** Pieces are dealt from shuffled bags holding each of the 7 pieces once. */
+        BAG,
+        /** A piece found in the last 4 dealt is redrawn, up to 3 times. */
+        HISTORY
+    }
+
+    /**
+     * Cached TetrisPiece values, indexed by ordinal.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * Number of recent pieces remembered by the HISTORY strategy.
+     */
+    private static final int HISTORY_SIZE = 4;
+
+    /**
+     * Number of draws the HISTORY strategy makes before accepting a repeat.
+     */
+    private static final int HISTORY_ROLLS = 4;
+
+    /**
+     * The strategy of this generator.
+     */
+    private final Strategy myStrategy;
+
+    /**
+     * The source of random numbers.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * The current bag for BAG, the recent pieces for HISTORY, as ordinals.
+     */
+    private final byte[] myPieces;
+
+    /**
+     * Pieces left in the bag, or the next history slot to overwrite.
+     */
+    private int myIndex;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param theStrategy the strategy to deal pieces with.
+     * @param theRandom the source of random numbers, owned by this generator.
+     */
+    private PieceGenerator(final Strategy theStrategy, final SplittableRandom theRandom) {
+        super();
+        myStrategy = theStrategy;
+        myRandom = theRandom;
+        myPieces = new byte[theStrategy == Strategy.HISTORY ? HISTORY_SIZE : PIECES.length];
+        if (theStrategy == Strategy.HISTORY) {
+            // start from an S/Z history, so the first piece is unlikely to be S or Z
+            for (int i = 0; i < HISTORY_SIZE; i++) {
+                myPieces[i] = (byte) (i % 2 == 0 ? TetrisPiece.Z : TetrisPiece.S).ordinal();
+            }
+        }
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param theStrategy the strategy to deal pieces with.
+     * @param theSeed the seed; equal seeds deal equal sequences.
+     * @return a new generator.
+     */
+    public static PieceGenerator create(final Strategy theStrategy, final long theSeed) {
+        return new PieceGenerator(theStrategy, new SplittableRandom(theSeed));
+    }
+
+    /**
+     * Returns the strategy of this generator.
+     *
+     * @return the strategy.
+     */
+    public Strategy getStrategy() {
+        return myStrategy;
+    }
+
+    /**
+     * Derives a new generator with the same strategy whose sequence is independent of
+     * this one. This generator advances, so repeated splits give different generators.
+     *
+     * @return a new generator.
+     */
+    public PieceGenerator split() {
+        return new PieceGenerator(myStrategy, myRandom.split());
+    }
+
+    /**
+     * Advances this generator past a number of pieces.
+     *
+     * @param theCount the number of pieces to skip.
+     */
+    public void skip(final long theCount) {
+        for (long i = 0; i < theCount; i++) {
+            next();
+        }
+    }
+
+    @Override
+    public TetrisPiece next() {
+        return PIECES[switch (myStrategy) {
+            case UNIFORM -> myRandom.nextInt(PIECES.length);
+            case BAG -> nextFromBag();
+            case HISTORY -> nextFromHistory();
+        }];
+    }
+
+    /**
+     * Deals the next piece of the bag, shuffling a new bag when it is empty.
+     *
+     * @return the ordinal of the piece.
+     */
+    private int nextFromBag() {
+        if (myIndex == 0) {
+            for (int i = 0; i < myPieces.length; i++) {
+                final int j = myRandom.nextInt(i + 1);
+                myPieces[i] = myPieces[j];
+                myPieces[j] = (byte) i;
+            }
+            myIndex = myPieces.length;
+        }
+        return myPieces[--myIndex];
+    }
+
+    /**
+     * Draws a piece, redrawing while it is one of the recent pieces.
+     *
+     * @return the ordinal of the piece.
+     */
+    private int nextFromHistory() {
+        int piece = myRandom.nextInt(PIECES.length);
+        for (int roll = 1; roll < HISTORY_ROLLS && isRecent(piece); roll++) {
+            piece = myRandom.nextInt(PIECES.length);
+        }
+        myPieces[myIndex] = (byte) piece;
+        myIndex = (myIndex + 1) % HISTORY_SIZE;
+        return piece;
+    }
+
+    /**
+     * Returns whether a piece is in the history.
+     *
+     * @param thePiece the ordinal of the piece.
+     * @return true if the piece was dealt recently.
+     */
+    private boolean isRecent(final int thePiece) {
+        boolean result = false;
+        for (final byte recent : myPieces) {
+            if (recent == thePiece) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+}
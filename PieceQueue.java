@@ -0,0 +1,184 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Objects;
+
+/**
+ * The queue of pieces waiting to be played on a Board.
+ * <p>
+ * Piece ordinals are kept in a byte ring buffer twice the preview depth, rounded up to
+ * a power of two, and the buffer is topped up from the piece source in one batch
+ * whenever no more than the preview depth is left.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+final class PieceQueue implements IPieceQueue {
+
+    /**
+     * Cached TetrisPiece values, indexed by ordinal.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * Ring buffer of piece ordinals.
+     */
+    private final byte[] myPieces;
+
+    /**
+     * Mask wrapping an index into the ring buffer.
+     */
+    private final int myMask;
+
+    /**
+     * Number of pieces that can be previewed.
+     */
+    private final int myDepth;
+
+    /**
+     * Source the queue is filled from.
+     */
+    private IPieceGenerator mySource;
+
+    /**
+     * Index of the next piece in the ring buffer.
+     */
+    private int myHead;
+
+    /**
+     * Number of pieces in the ring buffer.
+     */
+    private int mySize;
+
+    /**
+     * Constructs an empty queue, which is filled the first time it is read.
+     *
+     * @param theDepth the number of pieces that can be previewed.
+     * @param theSource the source of the pieces.
+     * @throws IllegalArgumentException if theDepth is less than 1.
+     */
+    PieceQueue(final int theDepth, final IPieceGenerator theSource) {
+        super();
+        if (theDepth < 1) {
+            throw new IllegalArgumentException("Preview depth must be positive: " + theDepth);
+        }
+        myDepth = theDepth;
+        myPieces = new byte[Integer.highestOneBit(2 * theDepth - 1) << 1];
+        myMask = myPieces.length - 1;
+        mySource = Objects.requireNonNull(theSource);
+    }
+
+    @Override
+    public int size() {
+        return myDepth;
+    }
+
+    @Override
+    public TetrisPiece peek(final int theIndex) {
+        return PIECES[peekOrdinal(theIndex)];
+    }
+
+    @Override
+    public int peekOrdinal(final int theIndex) {
+        Objects.checkIndex(theIndex, myDepth);
+        if (theIndex >= mySize) {
+            refill();
+        }
+        return myPieces[myHead + theIndex & myMask];
+    }
+
+    @Override
+    public IPieceQueue snapshot() {
+        if (mySize < myDepth) {
+            refill();
+        }
+        final byte[] pieces = new byte[myDepth];
+        for (int i = 0; i < myDepth; i++) {
+            pieces[i] = myPieces[myHead + i & myMask];
+        }
+        return new Snapshot(pieces);
+    }
+
+    /**
+     * Removes the next piece.
+     *
+     * @return the next piece.
+     */
+    TetrisPiece poll() {
+        if (mySize <= myDepth) {
+            refill();
+        }
+        final byte result = myPieces[myHead];
+        myHead = myHead + 1 & myMask;
+        mySize--;
+        return PIECES[result];
+    }
+
+    /**
+     * Discards every queued piece and fills the queue from a new source from now on.
+     *
+     * @param theSource the source of the pieces.
+     */
+    void reset(final IPieceGenerator theSource) {
+        mySource = Objects.requireNonNull(theSource);
+        myHead = 0;
+        mySize = 0;
+    }
+
+    /**
+     * Fills the ring buffer from the source.
+     */
+    private void refill() {
+        while (mySize < myPieces.length) {
+            myPieces[myHead + mySize & myMask] = (byte) mySource.next().ordinal();
+            mySize++;
+        }
+    }
+
+    /**
+     * An immutable copy of the previewed pieces.
+     */
+    private static final class Snapshot implements IPieceQueue {
+
+        /**
+         * Ordinals of the previewed pieces, the next piece first.
+         */
+        private final byte[] myPieces;
+
+        /**
+         * Constructs a snapshot.
+         *
+         * @param thePieces the ordinals of the previewed pieces, not copied.
+         */
+        private Snapshot(final byte[] thePieces) {
+            super();
+            myPieces = thePieces;
+        }
+
+        @Override
+        public int size() {
+            return myPieces.length;
+        }
+
+        @Override
+        public TetrisPiece peek(final int theIndex) {
+            return PIECES[peekOrdinal(theIndex)];
+        }
+
+        @Override
+        public int peekOrdinal(final int theIndex) {
+            Objects.checkIndex(theIndex, myPieces.length);
+            return myPieces[theIndex];
+        }
+
+        @Override
+        public IPieceQueue snapshot() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * Static helpers for a movable piece packed into a single int.
+ * <p>
+ * A packed state holds the TetrisPiece type, the rotation and the x and y board
+ * position. Every transition is a few integer operations, so the Board and search
+ * code can move pieces around without allocating. {@link MovableTetrisPiece} is an
+ * immutable view of a packed state for observers.
+ * <p>
+ * Layout, low bits first: x (12 bits), y (12 bits), rotation (2 bits), type (3 bits).
+ * Coordinates are stored with a bias so that small negative values are allowed.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class PieceState {
+
+    /**
+     * Marks the absence of a piece. No valid state is negative.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The number of bits of each coordinate.
+     */
+    private static final int COORD_BITS = 12;
+
+    /**
+     * Mask of one coordinate field.
+     */
+    private static final int COORD_MASK = (1 << COORD_BITS) - 1;
+
+    /**
+     * Bias added to stored coordinates.
+     */
+    private static final int BIAS = 1 << (COORD_BITS - 1);
+
+    /**
+     * Shift of the y field.
+     */
+    private static final int Y_SHIFT = COORD_BITS;
+
+    /**
+     * Shift of the rotation field.
+     */
+    private static final int ROTATION_SHIFT = 2 * COORD_BITS;
+
+    /**
+     * Mask of the rotation field once shifted down.
+     */
+    private static final int ROTATION_MASK = 3;
+
+    /**
+     * Shift of the type field.
+     */
+    private static final int TYPE_SHIFT = ROTATION_SHIFT + 2;
+
+    /**
+     * One step down in packed form.
+     */
+    private static final int ONE_ROW = 1 << Y_SHIFT;
+
+    /**
+     * Cached TetrisPiece values, indexed by ordinal.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    private PieceState() {
+        super();
+    }
+
+    /**
+     * Packs a piece into a state.
+     *
+     * @param thePiece the TetrisPiece type.
+     * @param theRotation the rotation ordinal.
+     * @param theX the x board position.
+     * @param theY the y board position.
+     * @return the packed state.
+     */
+    public static int of(final TetrisPiece thePiece, final int theRotation,
+                         final int theX, final int theY) {
+        return thePiece.ordinal() << TYPE_SHIFT
+               | (theRotation & ROTATION_MASK) << ROTATION_SHIFT
+               | (theY + BIAS) << Y_SHIFT
+               | theX + BIAS;
+    }
+
+    /**
+     * Returns the TetrisPiece type of a state.
+     *
+     * @param theState the packed state.
+     * @return the TetrisPiece type.
+     */
+    public static TetrisPiece piece(final int theState) {
+        return PIECES[theState >>> TYPE_SHIFT];
+    }
+
+    /**
+     * Returns the rotation ordinal of a state.
+     *
+     * @param theState the packed state.
+     * @return the rotation ordinal.
+     */
+    public static int rotation(final int theState) {
+        return theState >>> ROTATION_SHIFT & ROTATION_MASK;
+    }
+
+    /**
+     * Returns the x board position of a state.
+     *
+     * @param theState the packed state.
+     * @return the x position.
+     */
+    public static int x(final int theState) {
+        return (theState & COORD_MASK) - BIAS;
+    }
+
+    /**
+     * Returns the y board position of a state.
+     *
+     * @param theState the packed state.
+     * @return the y position.
+     */
+    public static int y(final int theState) {
+        return (theState >>> Y_SHIFT & COORD_MASK) - BIAS;
+    }
+
+    /**
+     * Moves a state one column to the left.
+     *
+     * @param theState the packed state.
+     * @return the moved state.
+     */
+    public static int left(final int theState) {
+        return theState - 1;
+    }
+
+    /**
+     * Moves a state one column to the right.
+     *
+     * @param theState the packed state.
+     * @return the moved state.
+     */
+    public static int right(final int theState) {
+        return theState + 1;
+    }
+
+    /**
+     * Moves a state one row down.
+     *
+     * @param theState the packed state.
+     * @return the moved state.
+     */
+    public static int down(final int theState) {
+        return theState - ONE_ROW;
+    }
+
+    /**
+     * Moves a state by an offset.
+     *
+     * @param theState the packed state.
+     * @param theX the x offset.
+     * @param theY the y offset.
+     * @return the moved state.
+     */
+    public static int translate(final int theState, final int theX, final int theY) {
+        return theState + theX + theY * ONE_ROW;
+    }
+
+    /**
+     * Moves a state to a board position, keeping its type and rotation.
+     *
+     * @param theState the packed state.
+     * @param theX the new x position.
+     * @param theY the new y position.
+     * @return the moved state.
+     */
+    public static int setPosition(final int theState, final int theX, final int theY) {
+        return theState & ~(COORD_MASK | COORD_MASK << Y_SHIFT)
+               | (theY + BIAS) << Y_SHIFT
+               | theX + BIAS;
+    }
+
+    /**
+     * Rotates a state clockwise.
+     *
+     * @param theState the packed state.
+     * @return the rotated state.
+     */
+    public static int rotateCW(final int theState) {
+        return withRotation(theState, rotation(theState) + 1);
+    }
+
+    /**
+     * Rotates a state counter clockwise.
+     *
+     * @param theState the packed state.
+     * @return the rotated state.
+     */
+    public static int rotateCCW(final int theState) {
+        return withRotation(theState, rotation(theState) - 1);
+    }
+
+    /**
+     * Replaces the rotation of a state.
+     *
+     * @param theState the packed state.
+     * @param theRotation the new rotation ordinal, taken modulo 4.
+     * @return the rotated state.
+     */
+    public static int withRotation(final int theState, final int theRotation) {
+        return theState & ~(ROTATION_MASK << ROTATION_SHIFT)
+               | (theRotation & ROTATION_MASK) << ROTATION_SHIFT;
+    }
+}
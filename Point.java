@@ -6,18 +6,44 @@
 
 package model;
 
-import java.util.Objects;
-
 /**
  * Represents a 2D Point with x and y coordinates.
  * Point objects are immutable.
  * (Compare to java.awt.Point which are mutable)
+ * <p>
+ * Points near the board are cached; use {@link #valueOf(int, int)} instead of the
+ * constructor to avoid allocating. Hot code can skip Point objects entirely and work
+ * on coordinates packed into a long with the static helpers.
  * 
  * @author Alan Fowler
  * @version 1.2
  */
 public final class Point implements IPoint {
 
+    /** Smallest cached coordinate, leaving room for pieces spawning near the edges. */
+    private static final int CACHE_MIN = -4;
+
+    /** One past the largest cached x coordinate. */
+    private static final int CACHE_MAX_X = BitBoard.MAX_WIDTH + 4;
+
+    /** One past the largest cached y coordinate. */
+    private static final int CACHE_MAX_Y = BitBoard.MAX_HEIGHT + 4;
+
+    /** Number of cached columns. */
+    private static final int CACHE_WIDTH = CACHE_MAX_X - CACHE_MIN;
+
+    /** Shared Point instances, row by row. */
+    private static final Point[] CACHE = new Point[CACHE_WIDTH * (CACHE_MAX_Y - CACHE_MIN)];
+
+    /** Mask of the low 32 bits of a packed coordinate. */
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Point(i % CACHE_WIDTH + CACHE_MIN, i / CACHE_WIDTH + CACHE_MIN);
+        }
+    }
+
     /** The X coordinate. */
     private final int myX;
 
@@ -36,6 +62,77 @@ public final class Point implements IPoint {
         myY = theY;
     }
 
+    /**
+     * Returns a Point with the provided coordinates, shared when the coordinates are
+     * within the cached range around the board.
+     * 
+     * @param theX the X coordinate.
+     * @param theY the Y coordinate.
+     * @return a Point with the provided coordinates.
+     */
+    public static Point valueOf(final int theX, final int theY) {
+        final Point result;
+        if (theX >= CACHE_MIN && theX < CACHE_MAX_X && theY >= CACHE_MIN && theY < CACHE_MAX_Y) {
+            result = CACHE[(theY - CACHE_MIN) * CACHE_WIDTH + theX - CACHE_MIN];
+        } else {
+            result = new Point(theX, theY);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Point for packed coordinates.
+     * 
+     * @param thePacked coordinates packed by {@link #pack(int, int)}.
+     * @return a Point with the packed coordinates.
+     */
+    public static Point valueOf(final long thePacked) {
+        return valueOf(x(thePacked), y(thePacked));
+    }
+
+    /**
+     * Packs two coordinates into a long, x in the high half and y in the low half.
+     * 
+     * @param theX the X coordinate.
+     * @param theY the Y coordinate.
+     * @return the packed coordinates.
+     */
+    public static long pack(final int theX, final int theY) {
+        return (long) theX << Integer.SIZE | theY & LOW_BITS;
+    }
+
+    /**
+     * Returns the X coordinate of packed coordinates.
+     * 
+     * @param thePacked coordinates packed by {@link #pack(int, int)}.
+     * @return the X coordinate.
+     */
+    public static int x(final long thePacked) {
+        return (int) (thePacked >> Integer.SIZE);
+    }
+
+    /**
+     * Returns the Y coordinate of packed coordinates.
+     * 
+     * @param thePacked coordinates packed by {@link #pack(int, int)}.
+     * @return the Y coordinate.
+     */
+    public static int y(final long thePacked) {
+        return (int) thePacked;
+    }
+
+    /**
+     * Transforms packed coordinates by x and y.
+     * 
+     * @param thePacked coordinates packed by {@link #pack(int, int)}.
+     * @param theX the X factor to transform by.
+     * @param theY the Y factor to transform by.
+     * @return the transformed packed coordinates.
+     */
+    public static long transform(final long thePacked, final int theX, final int theY) {
+        return pack(x(thePacked) + theX, y(thePacked) + theY);
+    }
+
     // Queries
     /**
      * Returns the X coordinate.
@@ -57,6 +154,15 @@ public final class Point implements IPoint {
         return myY;
     }
 
+    /**
+     * Returns these coordinates packed into a long.
+     * 
+     * @return the packed coordinates.
+     */
+    public long toPacked() {
+        return pack(myX, myY);
+    }
+
     /**
      * Creates a new point transformed by x and y.
      * 
@@ -66,7 +172,7 @@ public final class Point implements IPoint {
      */
     @Override
     public Point transform(final int theX, final int theY) {
-        return new Point(myX + theX, myY + theY);
+        return valueOf(myX + theX, myY + theY);
     }
     
     /**
@@ -96,7 +202,7 @@ public final class Point implements IPoint {
 
     @Override
     public int hashCode() {
-        return Objects.hash(myX, myY);
+        return 31 * myX + myY;
     }
 
     @Override
@@ -0,0 +1,45 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import java.util.SplittableRandom;
+import model.IBoard;
+import model.PieceState;
+import model.TetrisPiece;
+
+/**
+ * A policy that drops every piece in a random rotation and column.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class RandomPolicy implements IPolicy {
+
+    /**
+     * The source of random choices.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * Constructs a random policy.
+     *
+     * @param theSeed the seed of the random choices.
+     */
+    public RandomPolicy(final long theSeed) {
+        super();
+        myRandom = new SplittableRandom(theSeed);
+    }
+
+    @Override
+    public void play(final IBoard theBoard) {
+        final TetrisPiece piece = PieceState.piece(theBoard.getCurrentPiece());
+        final int rotation = myRandom.nextInt(4);
+        final int x = myRandom.nextInt(-piece.getMinX(rotation),
+                                       theBoard.getWidth() - piece.getMaxX(rotation));
+        Moves.steer(theBoard, rotation, x);
+    }
+}
@@ -6,7 +6,7 @@
 
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Enumeration of Rotation types.
@@ -40,9 +40,9 @@ public enum Rotation {
     THREEQUARTER;
 
     /**
-     * A Random object used for generating random rotations.
+     * Cached Rotation values, indexed by ordinal.
      */
-    private static final Random GENERATOR = new Random();
+    private static final Rotation[] VALUES = values();
 
     /**
      * Create a new Rotation from this one rotated clockwise.
@@ -50,7 +50,7 @@ public enum Rotation {
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation clockwise() {
-        return values()[(this.ordinal() + 1) % values().length];
+        return VALUES[(this.ordinal() + 1) % VALUES.length];
     }
 
     /**
@@ -59,16 +59,26 @@ public enum Rotation {
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation counterClockwise() {
-        return values()[(this.ordinal() - 1 + values().length) % values().length];
+        return VALUES[(this.ordinal() - 1 + VALUES.length) % VALUES.length];
     }
 
     /**
-     * Creates a new Rotation with a random angle.
+     * Returns the Rotation with the given ordinal.
+     *
+     * @param theOrdinal the ordinal, taken modulo the number of rotations.
+     * @return the matching Rotation.
+     */
+    public static Rotation fromOrdinal(final int theOrdinal) {
+        return VALUES[theOrdinal & (VALUES.length - 1)];
+    }
+
+    /**
+     * Creates a new Rotation with a random angle from the calling thread's random source.
      * 
      * @return new random Rotation.
      */
     public static Rotation random() {
-        return values()[GENERATOR.nextInt(values().length)];
+        return VALUES[ThreadLocalRandom.current().nextInt(VALUES.length)];
     }
 
 }
@@ -1,4 +1,5 @@
 package edu.uw.tcss.app;
+import java.util.Arrays;
 import java.util.logging.Logger;
 import view.GUI;
 
@@ -23,10 +24,14 @@ public final class SandBox {
     }
 
     /**
-     * A method that logs stuff in the console.
-     * @param theArgs is some arguments
+     * Starts the GUI, or plays games without one when {@code --headless} is given.
+     * @param theArgs is some arguments, see {@link HeadlessRunner} for the headless options
      */
     public static void main(final String[] theArgs) {
-        new GUI();
+        if (Arrays.asList(theArgs).contains(HeadlessRunner.HEADLESS)) {
+            HeadlessRunner.main(theArgs);
+        } else {
+            new GUI();
+        }
     }
 }
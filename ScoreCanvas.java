@@ -4,11 +4,10 @@ import java.awt.Font;
 import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import javax.swing.JPanel;
 import javax.swing.Timer;
-import model.Board;
+import model.BoardEvent;
+import model.BoardEventBus;
 import model.TetrisPiece;
 
 /**
@@ -24,7 +23,7 @@ import model.TetrisPiece;
 // Such as, the tick rate, and next level counter.
 //@SuppressWarnings("CheckStyle")
 @SuppressWarnings("CheckStyle")
-public class ScoreCanvas extends JPanel implements PropertyChangeListener, ITheme {
+public class ScoreCanvas extends JPanel implements ITheme {
 
     /**
      * Constant for the x value for count until next level.
@@ -135,26 +134,40 @@ public class ScoreCanvas extends JPanel implements PropertyChangeListener, IThem
         theGraphics2D.drawString("Count until next level: " + myNextLevelCounter, X, Y + YIncrement + 10);
     }
 
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvt) {
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_ROW_CLEAR)) {
-            myCurrentLines = (int) theEvt.getNewValue();
-        }
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_SCORE_UPDATE)) {
-            myScore = (int) theEvt.getNewValue();
-        }
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_NEXT_LEVEL_COUNTER)) {
-            myNextLevelCounter = (int) theEvt.getNewValue();
-        }
-        if (theEvt.getPropertyName().equals(Board.PROPERTY_LEVEL)) {
-            myCurrentLevel = (int) theEvt.getNewValue();
-            myTickRate = 1000 - ((myCurrentLevel - 1) * 100);
-            if (myTickRate < 10) {
-                myTickRate = 10;
-            }
-
-            myTimer.setDelay(myTickRate);
+    /**
+     * Subscribes this canvas to the counters it shows.
+     *
+     * @param theEvents the event bus of the board.
+     */
+    public void subscribe(final BoardEventBus theEvents) {
+        theEvents.subscribe(BoardEvent.LINES, theLines -> {
+            myCurrentLines = theLines;
+            repaint();
+        });
+        theEvents.subscribe(BoardEvent.SCORE, theScore -> {
+            myScore = theScore;
+            repaint();
+        });
+        theEvents.subscribe(BoardEvent.NEXT_LEVEL_COUNTER, theCounter -> {
+            myNextLevelCounter = theCounter;
+            repaint();
+        });
+        theEvents.subscribe(BoardEvent.LEVEL, this::levelChanged);
+    }
+
+    /**
+     * Shows the level and speeds the timer up to it.
+     *
+     * @param theLevel the level.
+     */
+    private void levelChanged(final int theLevel) {
+        myCurrentLevel = theLevel;
+        myTickRate = 1000 - ((myCurrentLevel - 1) * 100);
+        if (myTickRate < 10) {
+            myTickRate = 10;
         }
+
+        myTimer.setDelay(myTickRate);
         repaint();
     }
 
@@ -6,7 +6,8 @@
 
 package model;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Enumeration of the TetrisPiece types.
@@ -94,9 +95,9 @@ public enum TetrisPiece {
     // Other class constants
 
     /**
-     * A Random Object.
+     * The number of rotations of each TetrisPiece.
      */
-    private static final Random RANDOM = new Random();
+    public static final int ROTATIONS = 4;
 
     
     // instance fields
@@ -125,6 +126,42 @@ public enum TetrisPiece {
      */
     private final Block myBlock;
 
+    /**
+     * Occupancy masks by rotation, one per row of the bounding box from the bottom.
+     * Bit 0 of each mask is the leftmost column of the bounding box.
+     */
+    private final int[][] myRowMasks;
+
+    /**
+     * Lowest local row of each column of the bounding box, by rotation.
+     */
+    private final int[][] myColumnBottoms;
+
+    /**
+     * Highest local row of each column of the bounding box, by rotation.
+     */
+    private final int[][] myColumnTops;
+
+    /**
+     * Leftmost local column by rotation.
+     */
+    private final int[] myMinX;
+
+    /**
+     * Rightmost local column by rotation.
+     */
+    private final int[] myMaxX;
+
+    /**
+     * Lowest local row by rotation.
+     */
+    private final int[] myMinY;
+
+    /**
+     * Highest local row by rotation.
+     */
+    private final int[] myMaxY;
+
     /**
      * The TetrisPiece constructor.
      * 
@@ -143,6 +180,52 @@ public enum TetrisPiece {
         myHeight = theHeight;
         myBlock = theBlock;
         myPoints = thePoints.clone();
+        myRowMasks = new int[ROTATIONS][];
+        myColumnBottoms = new int[ROTATIONS][];
+        myColumnTops = new int[ROTATIONS][];
+        myMinX = new int[ROTATIONS];
+        myMaxX = new int[ROTATIONS];
+        myMinY = new int[ROTATIONS];
+        myMaxY = new int[ROTATIONS];
+        for (int r = 0; r < ROTATIONS; r++) {
+            compileRotation(r, thePointsByRotation[r]);
+        }
+    }
+
+    /**
+     * Builds the bounding box and row masks of one rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param thePoints the local points of the rotation.
+     */
+    private void compileRotation(final int theRotation, final int[][] thePoints) {
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (final int[] p : thePoints) {
+            minX = Math.min(minX, p[0]);
+            maxX = Math.max(maxX, p[0]);
+            minY = Math.min(minY, p[1]);
+            maxY = Math.max(maxY, p[1]);
+        }
+        final int[] masks = new int[maxY - minY + 1];
+        final int[] bottoms = new int[maxX - minX + 1];
+        final int[] tops = new int[maxX - minX + 1];
+        Arrays.fill(bottoms, Integer.MAX_VALUE);
+        Arrays.fill(tops, Integer.MIN_VALUE);
+        for (final int[] p : thePoints) {
+            masks[p[1] - minY] |= 1 << (p[0] - minX);
+            bottoms[p[0] - minX] = Math.min(bottoms[p[0] - minX], p[1]);
+            tops[p[0] - minX] = Math.max(tops[p[0] - minX], p[1]);
+        }
+        myRowMasks[theRotation] = masks;
+        myColumnBottoms[theRotation] = bottoms;
+        myColumnTops[theRotation] = tops;
+        myMinX[theRotation] = minX;
+        myMaxX[theRotation] = maxX;
+        myMinY[theRotation] = minY;
+        myMaxY[theRotation] = maxY;
     }
 
     /**
@@ -191,11 +274,110 @@ public enum TetrisPiece {
     }
 
     /**
-     * Get a random TetrisPiece.
+     * Returns one row of the occupancy mask of a rotation. Row 0 is the lowest row of
+     * the bounding box and bit 0 is its leftmost column.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theRow the row of the bounding box, from 0 to the box height - 1.
+     * @return the occupancy bits of the row.
+     */
+    public int getRowMask(final int theRotation, final int theRow) {
+        return myRowMasks[theRotation][theRow];
+    }
+
+    /**
+     * Returns the lowest local row occupied in one column of a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theColumn the column of the bounding box, from 0 to the box width - 1.
+     * @return the lowest local row of the column.
+     */
+    public int getColumnBottom(final int theRotation, final int theColumn) {
+        return myColumnBottoms[theRotation][theColumn];
+    }
+
+    /**
+     * Returns the highest local row occupied in one column of a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theColumn the column of the bounding box, from 0 to the box width - 1.
+     * @return the highest local row of the column.
+     */
+    public int getColumnTop(final int theRotation, final int theColumn) {
+        return myColumnTops[theRotation][theColumn];
+    }
+
+    /**
+     * Returns the leftmost local column occupied in a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @return the leftmost local column.
+     */
+    public int getMinX(final int theRotation) {
+        return myMinX[theRotation];
+    }
+
+    /**
+     * Returns the rightmost local column occupied in a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @return the rightmost local column.
+     */
+    public int getMaxX(final int theRotation) {
+        return myMaxX[theRotation];
+    }
+
+    /**
+     * Returns the lowest local row occupied in a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @return the lowest local row.
+     */
+    public int getMinY(final int theRotation) {
+        return myMinY[theRotation];
+    }
+
+    /**
+     * Returns the highest local row occupied in a rotation.
+     *
+     * @param theRotation the rotation ordinal.
+     * @return the highest local row.
+     */
+    public int getMaxY(final int theRotation) {
+        return myMaxY[theRotation];
+    }
+
+    /**
+     * Returns the x position at which this TetrisPiece enters a board.
+     *
+     * @param theBoardWidth the width of the board.
+     * @return the spawn x position.
+     */
+    public int getSpawnX(final int theBoardWidth) {
+        return (theBoardWidth - myWidth) / 2;
+    }
+
+    /**
+     * Returns the y position at which this TetrisPiece enters a board.
+     *
+     * @param theBoardHeight the height of the board.
+     * @return the spawn y position.
+     */
+    public int getSpawnY(final int theBoardHeight) {
+        int y = theBoardHeight - 1;
+        if (this == I) {
+            y--;
+        }
+        return y;
+    }
+
+    /**
+     * Get a random TetrisPiece from the calling thread's random source.
+     * Use a {@link PieceGenerator} for games that must be reproducible.
      * 
      * @return a random TetrisPiece.
      */
     public static TetrisPiece getRandomPiece() {
-        return values()[RANDOM.nextInt(values().length)];
+        return values()[ThreadLocalRandom.current().nextInt(values().length)];
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size table of the scores of evaluated boards keyed by their Zobrist hash,
+ * shared by the worker threads of a search and by the games of a run without locks.
+ * <p>
+ * Each slot holds two longs: the entry data and the data XORed with the key. Writers
+ * store both words without synchronization; a reader that sees words from two
+ * different writes finds that they do not XOR back to its key and treats the slot as
+ * a miss. A store always replaces the entry in its slot. The entry data holds the
+ * score as a float, see {@link #score(long)}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class TranspositionTable {
+
+    /**
+     * Returned by {@link #probe(long)} when the key is not in the table.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * Number of bytes one slot takes.
+     */
+    public static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+
+    /**
+     * Largest base 2 logarithm of the number of slots.
+     */
+    private static final int MAX_SLOT_BITS = 28;
+
+    /**
+     * Bit set in every stored entry, so that no entry equals MISS.
+     */
+    private static final long VALID = 1L << 63;
+
+    /**
+     * Mask of the score bits.
+     */
+    private static final long SCORE_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Slots, two longs each: the data XORed with the key, then the data.
+     */
+    private final long[] myEntries;
+
+    /**
+     * Mask wrapping a key into a slot index.
+     */
+    private final int myMask;
+
+    /**
+     * Number of probes that found their key.
+     */
+    private final LongAdder myHits = new LongAdder();
+
+    /**
+     * Number of probes that did not find their key.
+     */
+    private final LongAdder myMisses = new LongAdder();
+
+    /**
+     * Number of misses whose slot held another key.
+     */
+    private final LongAdder myCollisions = new LongAdder();
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param theSlotBits the base 2 logarithm of the number of slots.
+     * @throws IllegalArgumentException if theSlotBits is not between 1 and
+     *         {@value #MAX_SLOT_BITS}.
+     */
+    public TranspositionTable(final int theSlotBits) {
+        super();
+        if (theSlotBits < 1 || theSlotBits > MAX_SLOT_BITS) {
+            throw new IllegalArgumentException("Slot bits must be between 1 and "
+                                               + MAX_SLOT_BITS + ": " + theSlotBits);
+        }
+        myEntries = new long[2 << theSlotBits];
+        myMask = (1 << theSlotBits) - 1;
+    }
+
+    /**
+     * Constructs the largest empty table that fits in a memory cap.
+     *
+     * @param theMaxBytes the most memory the slots may take.
+     * @return a new table with a power of 2 number of slots.
+     * @throws IllegalArgumentException if theMaxBytes is less than two slots.
+     */
+    public static TranspositionTable ofBytes(final long theMaxBytes) {
+        final long slots = theMaxBytes / BYTES_PER_SLOT;
+        if (slots < 2) {
+            throw new IllegalArgumentException("Table too small: " + theMaxBytes + " bytes");
+        }
+        return new TranspositionTable(Math.min(Long.SIZE - 1 - Long.numberOfLeadingZeros(slots),
+                                               MAX_SLOT_BITS));
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param theKey the Zobrist hash of the position.
+     * @return the entry data, or {@link #MISS}.
+     */
+    public long probe(final long theKey) {
+        final int slot = ((int) theKey & myMask) << 1;
+        final long data = myEntries[slot + 1];
+        final long check = myEntries[slot];
+        long result = MISS;
+        if (data != MISS && (check ^ data) == theKey) {
+            myHits.increment();
+            result = data;
+        } else {
+            myMisses.increment();
+            if (data != MISS) {
+                myCollisions.increment();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stores the score of a position.
+     *
+     * @param theKey the Zobrist hash of the position.
+     * @param theScore the score of the position, kept as a float.
+     */
+    public void store(final long theKey, final double theScore) {
+        final int slot = ((int) theKey & myMask) << 1;
+        final long data = VALID | Float.floatToRawIntBits((float) theScore) & SCORE_MASK;
+        myEntries[slot] = theKey ^ data;
+        myEntries[slot + 1] = data;
+    }
+
+    /**
+     * Returns the score of an entry.
+     *
+     * @param theEntry entry data returned by {@link #probe(long)}.
+     * @return the stored score, rounded to a float.
+     */
+    public static double score(final long theEntry) {
+        return Float.intBitsToFloat((int) theEntry);
+    }
+
+    /**
+     * Returns the number of probes that found their key.
+     *
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return myHits.sum();
+    }
+
+    /**
+     * Returns the number of probes that did not find their key.
+     *
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return myMisses.sum();
+    }
+
+    /**
+     * Returns the number of misses whose slot held another key.
+     *
+     * @return the number of collisions.
+     */
+    public long getCollisions() {
+        return myCollisions.sum();
+    }
+
+    /**
+     * Returns the fraction of probes that found their key.
+     *
+     * @return the hit rate, 0 before the first probe.
+     */
+    public double getHitRate() {
+        final long hits = getHits();
+        final long probes = hits + getMisses();
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionTable(%d slots, %d KiB, %d hits, %d misses, "
+                             + "%.1f%% hit rate, %d collisions)", myMask + 1,
+                             (long) (myMask + 1) * BYTES_PER_SLOT / 1024, getHits(),
+                             getMisses(), 100 * getHitRate(), getCollisions());
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.wallkicks;
+
+import model.Point;
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * The wall kicks of the Super Rotation System.
+ * <p>
+ * When a rotated piece does not fit, the offsets of its rotation are tried in order
+ * and the first one that fits is applied. J, L, S, T and Z share one table, I has its
+ * own and O never kicks. Offsets use board coordinates, y pointing up. Rotations that
+ * are not a quarter turn have only the zero offset.
+ * <p>
+ * The tables are flat primitive arrays indexed by piece class, start rotation and end
+ * rotation, so a rotation reads its offsets without allocating; see
+ * {@link #getKickCount(TetrisPiece, int, int)}, {@link #getKickX} and
+ * {@link #getKickY}.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class WallKick {
+
+    /**
+     * Number of offsets tried by a quarter turn.
+     */
+    public static final int KICKS = 5;
+
+    /**
+     * Number of rotation ordinals.
+     */
+    private static final int ROTATIONS = TetrisPiece.ROTATIONS;
+
+    /**
+     * Table class of the O piece.
+     */
+    private static final int O_CLASS = 0;
+
+    /**
+     * Table class of the J, L, S, T and Z pieces.
+     */
+    private static final int JLSTZ_CLASS = 1;
+
+    /**
+     * Table class of the I piece.
+     */
+    private static final int I_CLASS = 2;
+
+    /**
+     * Number of bytes per table entry: an x, y pair per offset.
+     */
+    private static final int ENTRY_SIZE = 2 * KICKS;
+
+    /**
+     * Start rotation of each quarter turn in the source tables.
+     */
+    private static final int[] TURN_FROM = {0, 1, 1, 2, 2, 3, 3, 0};
+
+    /**
+     * End rotation of each quarter turn in the source tables.
+     */
+    private static final int[] TURN_TO = {1, 0, 2, 1, 3, 2, 0, 3};
+
+    /**
+     * Offsets of the J, L, S, T and Z pieces as x, y pairs, one row per quarter turn in
+     * the order of TURN_FROM and TURN_TO.
+     */
+    private static final int[][] JLSTZ = {
+        // 0 -> R
+        {0, 0, -1, 0, -1, 1, 0, -2, -1, -2},
+        // R -> 0
+        {0, 0, 1, 0, 1, -1, 0, 2, 1, 2},
+        // R -> 2
+        {0, 0, 1, 0, 1, -1, 0, 2, 1, 2},
+        // 2 -> R
+        {0, 0, -1, 0, -1, 1, 0, -2, -1, -2},
+        // 2 -> L
+        {0, 0, 1, 0, 1, 1, 0, -2, 1, -2},
+        // L -> 2
+        {0, 0, -1, 0, -1, -1, 0, 2, -1, 2},
+        // L -> 0
+        {0, 0, -1, 0, -1, -1, 0, 2, -1, 2},
+        // 0 -> L
+        {0, 0, 1, 0, 1, 1, 0, -2, 1, -2},
+    };
+
+    /**
+     * Offsets of the I piece, in the same order as JLSTZ.
+     */
+    private static final int[][] I = {
+        // 0 -> R
+        {0, 0, -2, 0, 1, 0, -2, -1, 1, 2},
+        // R -> 0
+        {0, 0, 2, 0, -1, 0, 2, 1, -1, -2},
+        // R -> 2
+        {0, 0, -1, 0, 2, 0, -1, 2, 2, -1},
+        // 2 -> R
+        {0, 0, 1, 0, -2, 0, 1, -2, -2, 1},
+        // 2 -> L
+        {0, 0, 2, 0, -1, 0, 2, 1, -1, -2},
+        // L -> 2
+        {0, 0, -2, 0, 1, 0, -2, -1, 1, 2},
+        // L -> 0
+        {0, 0, 1, 0, -2, 0, 1, -2, -2, 1},
+        // 0 -> L
+        {0, 0, -1, 0, 2, 0, -1, 2, 2, -1},
+    };
+
+    /**
+     * Offsets of every class, start and end rotation, ENTRY_SIZE bytes each.
+     */
+    private static final byte[] OFFSETS = new byte[3 * ROTATIONS * ROTATIONS * ENTRY_SIZE];
+
+    /**
+     * Number of offsets per class, start and end rotation.
+     */
+    private static final byte[] COUNTS = new byte[3 * ROTATIONS * ROTATIONS];
+
+    static {
+        for (int i = 0; i < COUNTS.length; i++) {
+            COUNTS[i] = 1;
+        }
+        for (int t = 0; t < TURN_FROM.length; t++) {
+            fill(entry(JLSTZ_CLASS, TURN_FROM[t], TURN_TO[t]), JLSTZ[t]);
+            fill(entry(I_CLASS, TURN_FROM[t], TURN_TO[t]), I[t]);
+        }
+    }
+
+    private WallKick() {
+        super();
+    }
+
+    /**
+     * Returns the number of offsets to try for a rotation.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the rotation ordinal before rotating.
+     * @param theTo the rotation ordinal after rotating.
+     * @return the number of offsets, 1 if the rotation never kicks.
+     */
+    public static int getKickCount(final TetrisPiece thePiece, final int theFrom,
+                                   final int theTo) {
+        return COUNTS[entry(pieceClass(thePiece), theFrom, theTo)];
+    }
+
+    /**
+     * Returns the x offset of a kick.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the rotation ordinal before rotating.
+     * @param theTo the rotation ordinal after rotating.
+     * @param theKick the index of the kick, less than the kick count.
+     * @return the x offset.
+     */
+    public static int getKickX(final TetrisPiece thePiece, final int theFrom,
+                               final int theTo, final int theKick) {
+        return OFFSETS[entry(pieceClass(thePiece), theFrom, theTo) * ENTRY_SIZE
+                       + 2 * theKick];
+    }
+
+    /**
+     * Returns the y offset of a kick.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the rotation ordinal before rotating.
+     * @param theTo the rotation ordinal after rotating.
+     * @param theKick the index of the kick, less than the kick count.
+     * @return the y offset.
+     */
+    public static int getKickY(final TetrisPiece thePiece, final int theFrom,
+                               final int theTo, final int theKick) {
+        return OFFSETS[entry(pieceClass(thePiece), theFrom, theTo) * ENTRY_SIZE
+                       + 2 * theKick + 1];
+    }
+
+    /**
+     * Returns the offsets to try for a rotation, in order.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the rotation before rotating.
+     * @param theTo the rotation after rotating.
+     * @return a new array of the offsets.
+     */
+    public static Point[] getWallKicks(final TetrisPiece thePiece, final Rotation theFrom,
+                                       final Rotation theTo) {
+        final int from = theFrom.ordinal();
+        final int to = theTo.ordinal();
+        final Point[] result = new Point[getKickCount(thePiece, from, to)];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = Point.valueOf(getKickX(thePiece, from, to, k),
+                                      getKickY(thePiece, from, to, k));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the table class of a piece.
+     *
+     * @param thePiece the piece.
+     * @return O_CLASS, JLSTZ_CLASS or I_CLASS.
+     */
+    private static int pieceClass(final TetrisPiece thePiece) {
+        final int result;
+        if (thePiece == TetrisPiece.O) {
+            result = O_CLASS;
+        } else if (thePiece == TetrisPiece.I) {
+            result = I_CLASS;
+        } else {
+            result = JLSTZ_CLASS;
+        }
+        return result;
+    }
+
+    /**
+     * Copies the offsets of one quarter turn into the flat tables.
+     *
+     * @param theEntry the entry index of the turn.
+     * @param theOffsets the offsets as x, y pairs.
+     */
+    private static void fill(final int theEntry, final int[] theOffsets) {
+        COUNTS[theEntry] = KICKS;
+        for (int i = 0; i < ENTRY_SIZE; i++) {
+            OFFSETS[theEntry * ENTRY_SIZE + i] = (byte) theOffsets[i];
+        }
+    }
+
+    /**
+     * Returns the index of a rotation in COUNTS.
+     *
+     * @param theClass the table class.
+     * @param theFrom the rotation ordinal before rotating.
+     * @param theTo the rotation ordinal after rotating.
+     * @return the entry index.
+     */
+    private static int entry(final int theClass, final int theFrom, final int theTo) {
+        return (theClass * ROTATIONS + theFrom) * ROTATIONS + theTo;
+    }
+}
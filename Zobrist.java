@@ -0,0 +1,107 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * Zobrist keys for hashing board positions.
+ * <p>
+ * Every cell, piece state and preview slot has a fixed pseudo random 64-bit key, and a
+ * position hashes to the XOR of the keys of its parts, so a change costs one XOR per
+ * part that changed. Keys are derived from their index with the SplitMix64 finalizer
+ * rather than drawn from a random source, so hashes are the same in every run and can
+ * be stored with replays.
+ *
+ * @author binaldhaliwal
+ * @version 1.0
+ */
+public final class Zobrist {
+
+    /**
+     * Increment of the SplitMix64 sequence, used to spread consecutive indices.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Salt separating piece state keys from cell keys.
+     */
+    private static final long PIECE_SALT = 0x5851F42D4C957F2DL;
+
+    /**
+     * Salt separating preview keys from cell keys.
+     */
+    private static final long PREVIEW_SALT = 0x14057B7EF767814FL;
+
+    /**
+     * Number of slots reserved per preview position, one per piece type.
+     */
+    private static final int PREVIEW_STRIDE = 8;
+
+    private Zobrist() {
+        super();
+    }
+
+    /**
+     * Returns the key of an occupied cell.
+     *
+     * @param theX the column of the cell.
+     * @param theY the row of the cell.
+     * @return the key of the cell.
+     */
+    public static long cell(final int theX, final int theY) {
+        return mix((theY * (long) BitBoard.MAX_WIDTH + theX + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns the XOR of the keys of the occupied cells of a row.
+     *
+     * @param theY the row.
+     * @param theRow the occupancy word of the cells to hash.
+     * @return the combined key, 0 for an empty row.
+     */
+    public static long row(final int theY, final int theRow) {
+        long result = 0;
+        for (int bits = theRow; bits != 0; bits &= bits - 1) {
+            result ^= cell(Integer.numberOfTrailingZeros(bits), theY);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the key of a movable piece.
+     *
+     * @param theState the packed {@link PieceState}.
+     * @return the key of the piece state.
+     */
+    public static long piece(final int theState) {
+        return mix((theState + PIECE_SALT) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns the key of a piece waiting in the preview.
+     *
+     * @param theIndex the position in the preview, 0 for the next piece.
+     * @param theOrdinal the ordinal of the piece.
+     * @return the key of the preview slot.
+     */
+    public static long preview(final int theIndex, final int theOrdinal) {
+        return mix(((long) theIndex * PREVIEW_STRIDE + theOrdinal + PREVIEW_SALT)
+                   * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles the bits of a value with the SplitMix64 finalizer.
+     *
+     * @param theValue the value.
+     * @return the scrambled value.
+     */
+    public static long mix(final long theValue) {
+        long z = theValue;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+}